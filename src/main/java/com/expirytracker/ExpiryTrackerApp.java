@@ -71,7 +71,7 @@ public class ExpiryTrackerApp extends Application {
             mainController.shutdown();
         }
         
-        DatabaseManager.getInstance().closeConnection();
+        DatabaseManager.getInstance().close();
         System.out.println("Application closed successfully");
     }
 
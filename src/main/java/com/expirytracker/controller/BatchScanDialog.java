@@ -0,0 +1,303 @@
+package com.expirytracker.controller;
+
+import com.expirytracker.database.BulkInsertResult;
+import com.expirytracker.database.ItemRepository;
+import com.expirytracker.model.Item;
+import com.expirytracker.service.OcrService;
+import com.expirytracker.util.DayClock;
+import com.expirytracker.util.ScanTextParser;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import net.sourceforge.tess4j.TesseractException;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Dialog that scans many label photos at once. All images are queued on the
+ * OCR worker pool, so several are recognized in parallel; each result is
+ * parsed like a single scan and added to a review queue as it arrives. The
+ * user fixes or removes entries and saves them in bulk.
+ * The result is the list of items that were saved.
+ */
+public class BatchScanDialog extends Dialog<List<Item>> {
+
+    /**
+     * One scanned image waiting for review.
+     */
+    private static class ScanDraft {
+        final File file;
+        final Item item;
+        final String error;
+
+        ScanDraft(File file, Item item, String error) {
+            this.file = file;
+            this.item = item;
+            this.error = error;
+        }
+
+        boolean isReady() {
+            return error == null && item.getName() != null && !item.getName().isBlank()
+                    && item.getExpiryDate() != null;
+        }
+
+        String status() {
+            if (error != null) return "OCR failed: " + error;
+            if (item.getName() == null || item.getName().isBlank()) return "Needs name";
+            if (item.getExpiryDate() == null) return "Needs expiry date";
+            return "Ready";
+        }
+    }
+
+    private final List<File> imageFiles;
+    private final OcrService ocrService;
+    private final ItemRepository itemRepository;
+
+    private final ObservableList<ScanDraft> drafts = FXCollections.observableArrayList();
+    private final List<Item> saved = new ArrayList<>();
+    // Filled by the scan task, cancelled from the FX thread
+    private final List<Future<String>> pending = Collections.synchronizedList(new ArrayList<>());
+    private final TableView<ScanDraft> reviewTable = new TableView<>(drafts);
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Label progressLabel = new Label();
+    private Task<Void> scanTask;
+
+    public BatchScanDialog(List<File> imageFiles, OcrService ocrService, ItemRepository itemRepository) {
+        this.imageFiles = imageFiles;
+        this.ocrService = ocrService;
+        this.itemRepository = itemRepository;
+
+        setTitle("Batch Scan - OCR Expiry Detection");
+        setHeaderText(imageFiles.size() + " image(s) will be scanned using " + ocrService.getPoolSize() + " OCR engine(s)");
+        setResizable(true);
+        getDialogPane().setPrefSize(850, 600);
+
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        HBox progressBox = new HBox(10, progressBar, progressLabel);
+        progressBox.setAlignment(Pos.CENTER_LEFT);
+        HBox.setHgrow(progressBar, Priority.ALWAYS);
+
+        setupReviewTable();
+
+        Button editButton = new Button("Edit...");
+        editButton.setOnAction(e -> editSelected());
+        Button removeButton = new Button("Remove");
+        removeButton.setOnAction(e -> drafts.removeAll(new ArrayList<>(reviewTable.getSelectionModel().getSelectedItems())));
+        Button acceptSelectedButton = new Button("Save Selected");
+        acceptSelectedButton.setOnAction(e -> accept(new ArrayList<>(reviewTable.getSelectionModel().getSelectedItems())));
+        Button acceptAllButton = new Button("💾 Save All Ready");
+        acceptAllButton.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white;");
+        acceptAllButton.setOnAction(e -> accept(new ArrayList<>(drafts)));
+
+        HBox actions = new HBox(10, editButton, removeButton, acceptSelectedButton, acceptAllButton);
+        actions.setAlignment(Pos.CENTER_RIGHT);
+
+        VBox content = new VBox(12, progressBox, reviewTable, actions);
+        content.setPadding(new Insets(20));
+        VBox.setVgrow(reviewTable, Priority.ALWAYS);
+        getDialogPane().setContent(content);
+        getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+
+        setResultConverter(button -> saved);
+        setOnShown(e -> startScan());
+        setOnHidden(e -> cancelScan());
+    }
+
+    private void setupReviewTable() {
+        TableColumn<ScanDraft, String> fileColumn = new TableColumn<>("File");
+        fileColumn.setCellValueFactory(c -> new SimpleStringProperty(c.getValue().file.getName()));
+        TableColumn<ScanDraft, String> nameColumn = new TableColumn<>("Product Name");
+        nameColumn.setCellValueFactory(c -> new SimpleStringProperty(c.getValue().item.getName()));
+        TableColumn<ScanDraft, String> categoryColumn = new TableColumn<>("Category");
+        categoryColumn.setCellValueFactory(c -> new SimpleStringProperty(c.getValue().item.getCategory()));
+        TableColumn<ScanDraft, String> expiryColumn = new TableColumn<>("Expiry Date");
+        expiryColumn.setCellValueFactory(c -> new SimpleStringProperty(
+                c.getValue().item.getExpiryDate() == null ? "" : c.getValue().item.getExpiryDate().toString()));
+        TableColumn<ScanDraft, String> statusColumn = new TableColumn<>("Status");
+        statusColumn.setCellValueFactory(c -> new SimpleStringProperty(c.getValue().status()));
+
+        reviewTable.getColumns().addAll(List.of(fileColumn, nameColumn, categoryColumn, expiryColumn, statusColumn));
+        reviewTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        reviewTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        reviewTable.setPlaceholder(new Label("Scanned items will appear here"));
+        reviewTable.setRowFactory(tv -> {
+            TableRow<ScanDraft> row = new TableRow<>();
+            row.setOnMouseClicked(event -> {
+                if (event.getClickCount() == 2 && !row.isEmpty()) {
+                    editSelected();
+                }
+            });
+            return row;
+        });
+    }
+
+    /**
+     * On a background thread, keep a few images queued on the OCR pool ahead
+     * of the one being collected (cached results come back at once), and
+     * collect the results in order.
+     */
+    private void startScan() {
+        scanTask = new Task<>() {
+            @Override
+            protected Void call() {
+                long start = System.nanoTime();
+                int total = imageFiles.size();
+                // Each queued job holds its image's bytes, so don't queue the whole batch at once
+                int ahead = ocrService.getPoolSize() * 2;
+                int submitted = 0;
+                int done = 0;
+                int failed = 0;
+                for (int i = 0; i < total && !isCancelled(); i++) {
+                    // Submitting hashes each file for the result cache, so keep it off the FX thread
+                    while (submitted < total && submitted <= i + ahead) {
+                        File file = imageFiles.get(submitted++);
+                        try {
+                            pending.add(ocrService.submit(file));
+                        } catch (TesseractException e) {
+                            pending.add(null);
+                            ScanDraft failedDraft = new ScanDraft(file, newDraftItem(file, null), e.getMessage());
+                            Platform.runLater(() -> drafts.add(failedDraft));
+                        }
+                    }
+
+                    Future<String> future = pending.get(i);
+                    File file = imageFiles.get(i);
+                    if (future == null) {
+                        failed++;
+                    } else {
+                        ScanDraft draft;
+                        try {
+                            String text = future.get();
+                            draft = new ScanDraft(file, newDraftItem(file, text), null);
+                        } catch (ExecutionException e) {
+                            failed++;
+                            draft = new ScanDraft(file, newDraftItem(file, null), e.getCause().getMessage());
+                        } catch (InterruptedException | CancellationException e) {
+                            break;
+                        }
+                        ScanDraft result = draft;
+                        Platform.runLater(() -> drafts.add(result));
+                    }
+                    done++;
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    updateProgress(done, total);
+                    updateMessage(String.format("%d / %d scanned, %d failed - %.1f images/s",
+                            done, total, failed, done / Math.max(seconds, 0.001)));
+                }
+                if (isCancelled()) {
+                    // The dialog may have closed while this was still submitting
+                    cancelPending();
+                }
+                return null;
+            }
+        };
+        progressBar.progressProperty().bind(scanTask.progressProperty());
+        progressLabel.textProperty().bind(scanTask.messageProperty());
+
+        Thread thread = new Thread(scanTask, "BatchScan");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void cancelScan() {
+        if (scanTask != null) {
+            scanTask.cancel();
+        }
+        cancelPending();
+    }
+
+    /**
+     * Drop images still waiting for an engine.
+     */
+    private void cancelPending() {
+        synchronized (pending) {
+            for (Future<String> future : pending) {
+                if (future != null) {
+                    future.cancel(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Build an unsaved item from a scan; fields the text did not yield are left empty for review.
+     */
+    private static Item newDraftItem(File file, String text) {
+        ScanTextParser.Result parsed = ScanTextParser.parse(text);
+        String notes = parsed.getNotes() == null ? "Added via image scan" : parsed.getNotes() + "\nAdded via image scan";
+        // Same fallback as ScanImageDialog when no category keyword matches
+        String category = parsed.getCategory() != null ? parsed.getCategory() : "Other";
+        return new Item(parsed.getProductName(), category, DayClock.get().today(),
+                parsed.getExpiryDate(), 1, notes, file.getAbsolutePath());
+    }
+
+    private void editSelected() {
+        ScanDraft draft = reviewTable.getSelectionModel().getSelectedItem();
+        if (draft == null) {
+            return;
+        }
+        // Edit mode updates the draft item in place
+        new ItemDialog(draft.item).showAndWait().ifPresent(item -> {
+            int index = drafts.indexOf(draft);
+            drafts.set(index, new ScanDraft(draft.file, item, null));
+        });
+    }
+
+    /**
+     * Save the ready entries among the given ones in one bulk insert and
+     * take them off the queue; others stay for review.
+     */
+    private void accept(List<ScanDraft> candidates) {
+        List<ScanDraft> ready = new ArrayList<>();
+        for (ScanDraft draft : candidates) {
+            if (draft.isReady()) {
+                ready.add(draft);
+            }
+        }
+        if (ready.isEmpty()) {
+            showMessage(Alert.AlertType.INFORMATION, "Nothing to save",
+                    "No entries are ready. Edit entries to add a name and expiry date.");
+            return;
+        }
+
+        List<Item> items = new ArrayList<>(ready.size());
+        for (ScanDraft draft : ready) {
+            items.add(draft.item);
+        }
+        BulkInsertResult result = itemRepository.insertAll(items);
+
+        // Items that were written have been given ids
+        for (ScanDraft draft : ready) {
+            if (draft.item.getId() > 0) {
+                saved.add(draft.item);
+                drafts.remove(draft);
+            }
+        }
+        if (result.getFailed() > 0) {
+            showMessage(Alert.AlertType.ERROR, "Save failed",
+                    result.getFailed() + " item(s) could not be saved and are still in the queue.");
+        }
+    }
+
+    private void showMessage(Alert.AlertType type, String header, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle("Batch Scan");
+        alert.setHeaderText(header);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -1,5 +1,6 @@
 package com.expirytracker.controller;
 
+import com.expirytracker.database.CategoryDictionary;
 import com.expirytracker.model.Item;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
@@ -41,24 +42,8 @@ public class ItemDialog extends Dialog<Item> {
         nameField.setPrefWidth(300);
         
         categoryCombo = new ComboBox<>();
-        categoryCombo.getItems().addAll(
-            "Dairy & Eggs",
-            "Meat & Poultry", 
-            "Seafood",
-            "Vegetables", 
-            "Fruits",
-            "Bread & Bakery",
-            "Grains & Cereals",
-            "Canned Goods",
-            "Frozen Foods",
-            "Beverages",
-            "Snacks & Sweets",
-            "Condiments & Sauces",
-            "Baby Food",
-            "Pet Food",
-            "Supplements & Vitamins",
-            "Other"
-        );
+        categoryCombo.getItems().addAll(CategoryDictionary.STANDARD_CATEGORIES);
+        categoryCombo.getItems().add("Other");
         categoryCombo.setPromptText("Select category");
         categoryCombo.setPrefWidth(300);
         
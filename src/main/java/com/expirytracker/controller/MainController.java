@@ -1,29 +1,53 @@
 package com.expirytracker.controller;
 
 import com.expirytracker.database.ItemDAO;
+import com.expirytracker.database.ItemDAO.SortColumn;
+import com.expirytracker.database.ItemRepository;
+import com.expirytracker.model.ExpiryStatus;
 import com.expirytracker.model.Item;
+import com.expirytracker.service.CsvExportService;
+import com.expirytracker.service.CsvImportService;
+import com.expirytracker.service.ExpiryStatusScheduler;
+import com.expirytracker.service.ExportProgress;
+import com.expirytracker.service.ImportProgress;
 import com.expirytracker.service.NotificationService;
 import com.expirytracker.service.OcrService;
-import com.expirytracker.util.CsvUtil;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Callback;
+import javafx.util.Duration;
 
 import java.io.File;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Main controller for the Expiry Tracker application.
  */
 public class MainController {
 
+    /** Quiet period after the last keystroke before a search is started. */
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(200);
+    private static final List<String> IMAGE_EXTENSIONS = List.of("png", "jpg", "jpeg", "bmp", "gif", "tiff", "tif");
+
     @FXML private TableView<Item> itemsTable;
     @FXML private TableColumn<Item, String> nameColumn;
     @FXML private TableColumn<Item, String> categoryColumn;
@@ -36,39 +60,70 @@ public class MainController {
     @FXML private Button editButton;
     @FXML private Button deleteButton;
     @FXML private Button scanButton;
+    @FXML private Button batchScanButton;
     @FXML private Button exportButton;
     @FXML private Button importButton;
     @FXML private Label statusLabel;
+    @FXML private ProgressBar taskProgressBar;
 
     private final ItemDAO itemDAO;
+    private final ItemRepository itemRepository;
     private final OcrService ocrService;
     private final NotificationService notificationService;
+    private final ExpiryStatusScheduler expiryStatusScheduler;
+    private final CsvImportService csvImportService;
+    private final CsvExportService csvExportService;
+    // Unordered source list; the table shows it through a SortedList so single
+    // edits are patched in place instead of rebuilding every row
     private final ObservableList<Item> itemsList;
+    private final SortedList<Item> sortedItems;
+    // Used instead when the table is too large to cache (see ItemRepository.isCacheable)
+    private final PagedItemList pagedItems;
+    // The SortedList follows the table comparator (falling back to DEFAULT_ORDER),
+    // so sorting always succeeds; the default policy rejects the fallback
+    private final Callback<TableView<Item>, Boolean> sortedListSortPolicy = table -> true;
+
+    // Search runs on its own thread; only results from the latest generation are shown
+    private final ExecutorService searchExecutor;
+    private final PauseTransition searchDebounce;
+    private final LongSummaryStatistics searchLatency = new LongSummaryStatistics();
+    private Future<?> pendingSearch;
+    private long searchGeneration;
 
     public MainController() {
         this.itemDAO = new ItemDAO();
+        this.itemRepository = new ItemRepository(itemDAO);
         this.ocrService = new OcrService();
-        this.notificationService = new NotificationService(itemDAO);
+        this.notificationService = new NotificationService(itemRepository);
+        this.expiryStatusScheduler = new ExpiryStatusScheduler(
+                (previousDay, today) -> Platform.runLater(() -> onDayChanged(previousDay, today)));
+        this.csvImportService = new CsvImportService(itemDAO);
+        this.csvExportService = new CsvExportService(itemDAO);
         this.itemsList = FXCollections.observableArrayList();
+        this.sortedItems = new SortedList<>(itemsList);
+        this.pagedItems = new PagedItemList(itemDAO);
+        this.searchExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "ItemSearch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
     }
 
     @FXML
     public void initialize() {
         setupTableColumns();
         setupTableRowFactory();
+        setupTableSorting();
         loadItems();
         
         // Start notification service
         notificationService.start();
+        expiryStatusScheduler.start();
         
-        // Setup search functionality
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            if (newValue == null || newValue.trim().isEmpty()) {
-                loadItems();
-            } else {
-                searchItems(newValue);
-            }
-        });
+        // Setup search functionality: wait for a pause in typing, then search in the background
+        searchDebounce.setOnFinished(event -> searchItems(searchField.getText()));
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> searchDebounce.playFromStart());
         
         updateStatus("Ready");
     }
@@ -85,21 +140,72 @@ public class MainController {
         // Status column shows days to expiry
         statusColumn.setCellValueFactory(cellData -> {
             Item item = cellData.getValue();
-            long days = item.daysToExpiry();
             String status;
-            if (days == Long.MAX_VALUE) {
-                status = "No expiry";
-            } else if (days < 0) {
-                status = "EXPIRED";
-            } else if (days == 0) {
-                status = "Expires today";
-            } else {
-                status = days + " day" + (days == 1 ? "" : "s");
+            switch (item.getExpiryStatus()) {
+                case NO_EXPIRY:
+                    status = "No expiry";
+                    break;
+                case EXPIRED:
+                    status = "EXPIRED";
+                    break;
+                default:
+                    long days = item.daysToExpiry();
+                    status = days == 0 ? "Expires today" : days + " day" + (days == 1 ? "" : "s");
             }
             return new javafx.beans.property.SimpleStringProperty(status);
         });
     }
 
+    /**
+     * Sort rows by the clicked column headers, or by expiry date when none is selected.
+     */
+    private void setupTableSorting() {
+        sortedItems.comparatorProperty().bind(Bindings.createObjectBinding(() -> {
+            Comparator<Item> columnOrder = itemsTable.getComparator();
+            return columnOrder != null ? columnOrder : ItemRepository.DEFAULT_ORDER;
+        }, itemsTable.comparatorProperty()));
+        itemsTable.setSortPolicy(sortedListSortPolicy);
+        itemsTable.setItems(sortedItems);
+    }
+
+    /**
+     * Show the in-memory sorted list, sorted by the table itself.
+     */
+    private void showSortedItems() {
+        if (itemsTable.getItems() != sortedItems) {
+            itemsTable.setSortPolicy(sortedListSortPolicy);
+            itemsTable.setItems(sortedItems);
+        }
+    }
+
+    /**
+     * Show the database-backed paged list; column sorting becomes an ORDER BY.
+     */
+    private void showPagedItems() {
+        if (itemsTable.getItems() != pagedItems) {
+            itemsList.clear();
+            itemsTable.setItems(pagedItems);
+            itemsTable.setSortPolicy(table -> {
+                TableColumn<Item, ?> column = table.getSortOrder().isEmpty() ? null : table.getSortOrder().get(0);
+                pagedItems.setSort(sortColumnFor(column),
+                        column == null || column.getSortType() == TableColumn.SortType.ASCENDING);
+                return true;
+            });
+        }
+    }
+
+    private SortColumn sortColumnFor(TableColumn<Item, ?> column) {
+        if (column == nameColumn) return SortColumn.NAME;
+        if (column == categoryColumn) return SortColumn.CATEGORY;
+        if (column == quantityColumn) return SortColumn.QUANTITY;
+        // Expiry date, status (derived from expiry) and no column
+        return SortColumn.EXPIRY_DATE;
+    }
+
+    private boolean isPaged() {
+        return itemsTable.getItems() == pagedItems;
+    }
+
     /**
      * Setup row color coding based on expiry status.
      */
@@ -112,16 +218,18 @@ public class MainController {
                 if (item == null || empty) {
                     setStyle("");
                 } else {
-                    long days = item.daysToExpiry();
-                    if (days < 0) {
-                        // Red: Expired
-                        setStyle("-fx-background-color: rgba(255, 100, 100, 0.3);");
-                    } else if (days <= 14) {
-                        // Yellow: Expiring soon (1-14 days)
-                        setStyle("-fx-background-color: rgba(255, 230, 120, 0.3);");
-                    } else {
-                        // Green: Fresh (>14 days)
-                        setStyle("-fx-background-color: rgba(200, 255, 200, 0.3);");
+                    switch (item.getExpiryStatus()) {
+                        case EXPIRED:
+                            // Red: Expired
+                            setStyle("-fx-background-color: rgba(255, 100, 100, 0.3);");
+                            break;
+                        case EXPIRING_SOON:
+                            // Yellow: Expiring soon (0-14 days)
+                            setStyle("-fx-background-color: rgba(255, 230, 120, 0.3);");
+                            break;
+                        default:
+                            // Green: Fresh (>14 days) or no expiry
+                            setStyle("-fx-background-color: rgba(200, 255, 200, 0.3);");
                     }
                 }
             }
@@ -129,25 +237,87 @@ public class MainController {
     }
 
     /**
-     * Load all items from database.
+     * Midnight: move items that crossed a status threshold into their new
+     * bucket and redraw, since every row's day count has changed.
+     */
+    private void onDayChanged(long previousEpochDay, long todayEpochDay) {
+        if (isPaged()) {
+            // Pages are re-read with statuses for the new day
+            pagedItems.reload();
+            return;
+        }
+        int changed = itemRepository.rebucketExpiryStatus(previousEpochDay, todayEpochDay);
+        // Search results may include items that are not in the cache
+        changed += ExpiryStatus.rebucket(itemsList, previousEpochDay, todayEpochDay);
+        itemsTable.refresh();
+        System.out.println("Expiry status changed for " + changed + " item(s)");
+    }
+
+    /**
+     * Load all items from the repository cache.
      */
     private void loadItems() {
-        List<Item> items = itemDAO.findAll();
-        itemsList.clear();
-        itemsList.addAll(items);
-        itemsTable.setItems(itemsList);
-        updateStatus(items.size() + " item(s) loaded");
+        searchGeneration++; // results of an in-flight search are now stale
+        if (!itemRepository.isCacheable()) {
+            showPagedItems();
+            pagedItems.reload();
+            updateStatus(String.format("%,d item(s) loaded (paged)%s", pagedItems.size(), expirySummary()));
+            return;
+        }
+        showSortedItems();
+        List<Item> items = itemRepository.findAll();
+        itemsList.setAll(items);
+        updateStatus(items.size() + " item(s) loaded" + expirySummary());
     }
 
     /**
-     * Search items by keyword.
+     * Expired and expiring-soon counters for the status bar.
+     */
+    private String expirySummary() {
+        return String.format(" - %,d expired, %,d expiring within %d days",
+                itemRepository.countExpired(),
+                itemRepository.countExpiringWithinDays(ExpiryStatus.SOON_DAYS),
+                ExpiryStatus.SOON_DAYS);
+    }
+
+    /**
+     * Search items by keyword on the search thread. A newer search supersedes
+     * this one: if it is still queued it is cancelled, and if it is already
+     * running its results are discarded. Must be called on the FX thread.
      */
     private void searchItems(String keyword) {
-        List<Item> items = itemDAO.search(keyword);
-        itemsList.clear();
-        itemsList.addAll(items);
-        itemsTable.setItems(itemsList);
-        updateStatus(items.size() + " item(s) found");
+        if ((keyword == null || keyword.isBlank()) && !itemRepository.isCacheable()) {
+            // Too many rows to list; page through them instead
+            loadItems();
+            return;
+        }
+        long generation = ++searchGeneration;
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+        }
+
+        pendingSearch = searchExecutor.submit(() -> {
+            long start = System.nanoTime();
+            // A blank keyword returns every item
+            List<Item> items = itemRepository.search(keyword);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            Platform.runLater(() -> applySearchResults(generation, items, elapsedMillis));
+        });
+    }
+
+    /**
+     * Show search results unless a newer search has been started since.
+     */
+    private void applySearchResults(long generation, List<Item> items, long elapsedMillis) {
+        if (generation != searchGeneration) {
+            return;
+        }
+        showSortedItems();
+        itemsList.setAll(items);
+        searchLatency.accept(elapsedMillis);
+        updateStatus(String.format("%d item(s) found in %d ms (avg %.0f ms, max %d ms over %d searches)",
+                items.size(), elapsedMillis, searchLatency.getAverage(), searchLatency.getMax(),
+                searchLatency.getCount()));
     }
 
     /**
@@ -161,9 +331,9 @@ public class MainController {
             
             result.ifPresent(item -> {
                 try {
-                    boolean success = itemDAO.insert(item);
+                    boolean success = itemRepository.insert(item);
                     if (success) {
-                        loadItems();
+                        addItemToTable(item);
                         showInfo("Success", "Item added successfully: " + item.getName());
                         updateStatus("Item added: " + item.getName());
                     } else {
@@ -186,6 +356,7 @@ public class MainController {
     @FXML
     private void handleEditItem() {
         Item selectedItem = itemsTable.getSelectionModel().getSelectedItem();
+        int sourceIndex = selectedSourceIndex();
         
         if (selectedItem == null) {
             showWarning("Please select an item to edit");
@@ -196,8 +367,8 @@ public class MainController {
         Optional<Item> result = dialog.showAndWait();
         
         result.ifPresent(item -> {
-            if (itemDAO.update(item)) {
-                loadItems();
+            if (itemRepository.update(item)) {
+                replaceItemInTable(sourceIndex, item);
                 updateStatus("Item updated: " + item.getName());
             } else {
                 showError("Failed to update item");
@@ -211,6 +382,7 @@ public class MainController {
     @FXML
     private void handleDeleteItem() {
         Item selectedItem = itemsTable.getSelectionModel().getSelectedItem();
+        int sourceIndex = selectedSourceIndex();
         
         if (selectedItem == null) {
             showWarning("Please select an item to delete");
@@ -224,8 +396,8 @@ public class MainController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (itemDAO.delete(selectedItem.getId())) {
-                loadItems();
+            if (itemRepository.delete(selectedItem.getId())) {
+                removeItemFromTable(sourceIndex);
                 updateStatus("Item deleted: " + selectedItem.getName());
             } else {
                 showError("Failed to delete item");
@@ -239,16 +411,20 @@ public class MainController {
     @FXML
     private void handleScanImage() {
         FileChooser fileChooser = new FileChooser();
-        fileChooser.setTitle("Select Image to Scan");
+        fileChooser.setTitle("Select Image(s) to Scan");
+        List<String> patterns = IMAGE_EXTENSIONS.stream().map(ext -> "*." + ext).toList();
         fileChooser.getExtensionFilters().addAll(
-            new FileChooser.ExtensionFilter("Image Files", "*.png", "*.jpg", "*.jpeg", "*.bmp", "*.gif", "*.tiff"),
+            new FileChooser.ExtensionFilter("Image Files", patterns),
             new FileChooser.ExtensionFilter("All Files", "*.*")
         );
 
         Stage stage = (Stage) scanButton.getScene().getWindow();
-        File selectedFile = fileChooser.showOpenDialog(stage);
+        List<File> selectedFiles = fileChooser.showOpenMultipleDialog(stage);
 
-        if (selectedFile != null) {
+        if (selectedFiles != null && selectedFiles.size() > 1) {
+            showBatchScan(selectedFiles);
+        } else if (selectedFiles != null && selectedFiles.size() == 1) {
+            File selectedFile = selectedFiles.get(0);
             // Show dialog even if OCR is not available - user can enter manually
             if (!ocrService.isInitialized()) {
                 Alert info = new Alert(Alert.AlertType.INFORMATION);
@@ -260,71 +436,245 @@ public class MainController {
                 info.showAndWait();
             }
             
-            ScanImageDialog dialog = new ScanImageDialog(selectedFile, ocrService, itemDAO);
-            dialog.showAndWait();
-            loadItems(); // Refresh table in case item was added
+            ScanImageDialog dialog = new ScanImageDialog(selectedFile, ocrService, itemRepository);
+            dialog.showAndWait().ifPresent(this::addItemToTable);
         }
     }
 
+    /**
+     * Handle Scan Folder button: batch-scan every image in a directory.
+     */
+    @FXML
+    private void handleBatchScan() {
+        DirectoryChooser directoryChooser = new DirectoryChooser();
+        directoryChooser.setTitle("Select Folder of Images to Scan");
+        File directory = directoryChooser.showDialog(batchScanButton.getScene().getWindow());
+        if (directory == null) {
+            return;
+        }
+
+        File[] images = directory.listFiles(file -> {
+            String name = file.getName().toLowerCase();
+            int dot = name.lastIndexOf('.');
+            return file.isFile() && dot >= 0 && IMAGE_EXTENSIONS.contains(name.substring(dot + 1));
+        });
+        if (images == null || images.length == 0) {
+            showError("No images found in " + directory.getAbsolutePath());
+            return;
+        }
+        Arrays.sort(images);
+        showBatchScan(Arrays.asList(images));
+    }
+
+    private void showBatchScan(List<File> files) {
+        if (!ocrService.isInitialized()) {
+            showError("Tesseract OCR is not installed, so images cannot be scanned in bulk.\n\n" +
+                      "Install Tesseract from:\nhttps://github.com/UB-Mannheim/tesseract/wiki");
+            return;
+        }
+        BatchScanDialog dialog = new BatchScanDialog(files, ocrService, itemRepository);
+        dialog.showAndWait().ifPresent(items -> {
+            if (!items.isEmpty()) {
+                addItemsToTable(items);
+                updateStatus(items.size() + " scanned item(s) added");
+            }
+        });
+    }
+
     /**
      * Handle Export CSV button.
+     * Rows are streamed from the database to the file on a background thread.
      */
     @FXML
     private void handleExportCsv() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Export to CSV");
         fileChooser.setInitialFileName("expiry_items_" + LocalDate.now() + ".csv");
-        fileChooser.getExtensionFilters().add(
-            new FileChooser.ExtensionFilter("CSV Files", "*.csv")
+        fileChooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV Files", "*.csv"),
+            new FileChooser.ExtensionFilter("Gzipped CSV Files", "*.csv.gz")
         );
 
         Stage stage = (Stage) exportButton.getScene().getWindow();
         File file = fileChooser.showSaveDialog(stage);
 
         if (file != null) {
-            List<Item> items = itemDAO.findAll();
-            if (CsvUtil.exportToCsv(items, file)) {
-                updateStatus("Exported " + items.size() + " items to CSV");
-                showInfo("Export successful", items.size() + " items exported to:\n" + file.getAbsolutePath());
-            } else {
-                showError("Failed to export CSV");
-            }
+            Task<ExportProgress> exportTask = new Task<>() {
+                @Override
+                protected ExportProgress call() throws Exception {
+                    return csvExportService.exportCsv(file, progress -> {
+                        updateProgress(progress.getFraction(), 1.0);
+                        updateMessage(progress.toStatusText());
+                    });
+                }
+            };
+
+            exportTask.setOnSucceeded(event -> {
+                finishBackgroundTask(exportButton);
+                ExportProgress result = exportTask.getValue();
+                updateStatus(result.toStatusText());
+                showInfo("Export successful", String.format("%,d items exported to:%n%s",
+                        result.getRowsWritten(), file.getAbsolutePath()));
+            });
+
+            exportTask.setOnFailed(event -> {
+                finishBackgroundTask(exportButton);
+                Throwable error = exportTask.getException();
+                showError("Failed to export CSV: " + (error != null ? error.getMessage() : "Unknown error"));
+            });
+
+            startBackgroundTask(exportTask, exportButton, "CsvExport");
         }
     }
 
     /**
      * Handle Import CSV button.
+     * The file is streamed into the database on a background thread so large
+     * imports neither freeze the UI nor load the whole file into memory.
      */
     @FXML
     private void handleImportCsv() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Import from CSV");
-        fileChooser.getExtensionFilters().add(
-            new FileChooser.ExtensionFilter("CSV Files", "*.csv")
+        fileChooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV Files", "*.csv", "*.csv.gz")
         );
 
         Stage stage = (Stage) importButton.getScene().getWindow();
         File file = fileChooser.showOpenDialog(stage);
 
         if (file != null) {
-            List<Item> items = CsvUtil.importFromCsv(file);
-            
-            if (!items.isEmpty()) {
-                int count = 0;
-                for (Item item : items) {
-                    if (itemDAO.insert(item)) {
-                        count++;
-                    }
+            Task<ImportProgress> importTask = new Task<>() {
+                @Override
+                protected ImportProgress call() throws Exception {
+                    return csvImportService.importCsv(file, progress -> {
+                        updateProgress(progress.getFraction(), 1.0);
+                        updateMessage(progress.toStatusText());
+                    });
                 }
+            };
+
+            importTask.setOnSucceeded(event -> {
+                finishBackgroundTask(importButton);
+                ImportProgress result = importTask.getValue();
+                itemRepository.invalidate(); // rows were written straight through the DAO
                 loadItems();
-                updateStatus("Imported " + count + " items from CSV");
-                showInfo("Import successful", count + " items imported from:\n" + file.getAbsolutePath());
-            } else {
-                showWarning("No valid items found in CSV file");
-            }
+                if (result.getRowsWritten() > 0) {
+                    updateStatus(result.toStatusText());
+                    showInfo("Import successful", String.format("%,d items imported from:%n%s%s",
+                            result.getRowsWritten(), file.getAbsolutePath(),
+                            result.getRowsRejected() > 0 ? String.format("%n%,d invalid rows skipped", result.getRowsRejected()) : ""));
+                } else {
+                    showWarning("No valid items found in CSV file");
+                }
+            });
+
+            importTask.setOnFailed(event -> {
+                finishBackgroundTask(importButton);
+                itemRepository.invalidate();
+                loadItems();
+                Throwable error = importTask.getException();
+                showError("Import failed: " + (error != null ? error.getMessage() : "Unknown error"));
+            });
+
+            startBackgroundTask(importTask, importButton, "CsvImport");
         }
     }
 
+    /**
+     * Index in {@link #itemsList} of the selected table row, or -1 if none.
+     */
+    private int selectedSourceIndex() {
+        int viewIndex = itemsTable.getSelectionModel().getSelectedIndex();
+        return viewIndex < 0 || isPaged() ? -1 : sortedItems.getSourceIndex(viewIndex);
+    }
+
+    /**
+     * Show a newly saved item. The sorted view places it by binary search, so
+     * existing rows, selection and scroll position are left alone. While a
+     * search is active the results are re-queried instead, since the new item
+     * may not match.
+     */
+    private void addItemToTable(Item item) {
+        String keyword = searchField.getText();
+        if (keyword != null && !keyword.isBlank()) {
+            searchItems(keyword);
+            return;
+        }
+        if (isPaged()) {
+            pagedItems.reload();
+            return;
+        }
+        itemsList.add(item);
+        itemsTable.getSelectionModel().select(item);
+        itemsTable.scrollTo(item);
+    }
+
+    /**
+     * Show several newly saved items at once (see {@link #addItemToTable}).
+     */
+    private void addItemsToTable(List<Item> items) {
+        String keyword = searchField.getText();
+        if (keyword != null && !keyword.isBlank()) {
+            searchItems(keyword);
+            return;
+        }
+        if (isPaged()) {
+            pagedItems.reload();
+            return;
+        }
+        itemsList.addAll(items);
+    }
+
+    /**
+     * Re-position an edited item. Setting the source slot makes the sorted
+     * view move just that row to its new place.
+     */
+    private void replaceItemInTable(int sourceIndex, Item item) {
+        if (isPaged()) {
+            pagedItems.reload();
+            return;
+        }
+        if (sourceIndex < 0) {
+            loadItems();
+            return;
+        }
+        itemsList.set(sourceIndex, item);
+        itemsTable.getSelectionModel().select(item);
+    }
+
+    private void removeItemFromTable(int sourceIndex) {
+        if (isPaged()) {
+            pagedItems.reload();
+        } else {
+            itemsList.remove(sourceIndex);
+        }
+    }
+
+    /**
+     * Run a long task on a daemon thread, showing its progress and message in the status bar.
+     */
+    private void startBackgroundTask(Task<?> task, Button trigger, String threadName) {
+        trigger.setDisable(true);
+        taskProgressBar.setVisible(true);
+        taskProgressBar.progressProperty().bind(task.progressProperty());
+        statusLabel.textProperty().bind(task.messageProperty());
+
+        Thread thread = new Thread(task, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Release the status bar bindings held by a background task.
+     */
+    private void finishBackgroundTask(Button trigger) {
+        statusLabel.textProperty().unbind();
+        taskProgressBar.progressProperty().unbind();
+        taskProgressBar.setVisible(false);
+        trigger.setDisable(false);
+    }
+
     /**
      * Update status label.
      */
@@ -369,6 +719,10 @@ public class MainController {
      * Shutdown - cleanup resources.
      */
     public void shutdown() {
+        searchDebounce.stop();
+        searchExecutor.shutdownNow();
         notificationService.stop();
+        expiryStatusScheduler.stop();
+        ocrService.shutdown();
     }
 }
@@ -0,0 +1,153 @@
+package com.expirytracker.controller;
+
+import com.expirytracker.database.ItemDAO;
+import com.expirytracker.database.ItemDAO.SortColumn;
+import com.expirytracker.model.Item;
+import javafx.collections.ObservableListBase;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only list backed by the database, for tables too large to hold in
+ * memory. {@link javafx.scene.control.TableView} only asks for the rows it
+ * is displaying, so rows are fetched a page at a time on first access and the
+ * least recently used pages are dropped once {@code maxPages} are held.
+ * <p>
+ * Pages are read with keyset queries anchored on the last row of the
+ * preceding page, so scrolling stays fast however deep it goes; a jump to a
+ * page with no known predecessor falls back to an OFFSET query. Sorting is
+ * done by SQL (see {@link #setSort}).
+ */
+public class PagedItemList extends ObservableListBase<Item> {
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    public static final int DEFAULT_MAX_PAGES = 16;
+
+    private final ItemDAO itemDAO;
+    private final int pageSize;
+    private final Map<Integer, List<Item>> pages;
+    // Last row of every page fetched so far: the keyset anchor for the next page.
+    // One Item per page, so it is kept even when the page itself is evicted.
+    private final Map<Integer, Item> pageEnds = new HashMap<>();
+
+    private SortColumn sortColumn = SortColumn.EXPIRY_DATE;
+    private boolean ascending = true;
+    private int size;
+    private long keysetLoads;
+    private long offsetLoads;
+
+    public PagedItemList(ItemDAO itemDAO) {
+        this(itemDAO, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    public PagedItemList(ItemDAO itemDAO, int pageSize, int maxPages) {
+        this.itemDAO = itemDAO;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(maxPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Item>> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    @Override
+    public Item get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        int page = index / pageSize;
+        List<Item> rows = pages.get(page);
+        if (rows == null) {
+            rows = load(page);
+        }
+        int offset = index - page * pageSize;
+        // The table can shrink between count() and the page query
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public SortColumn getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Change the sort order and reload.
+     */
+    public void setSort(SortColumn column, boolean ascending) {
+        if (column == sortColumn && ascending == this.ascending) {
+            return;
+        }
+        this.sortColumn = column;
+        this.ascending = ascending;
+        reload();
+    }
+
+    /**
+     * Re-count the table and drop all cached pages, e.g. after a write.
+     * Listeners see the existing range as replaced rather than cleared, so a
+     * table keeps its scroll position.
+     */
+    public void reload() {
+        int oldSize = size;
+        pages.clear();
+        pageEnds.clear();
+        size = itemDAO.count();
+
+        int common = Math.min(oldSize, size);
+        beginChange();
+        if (common > 0) {
+            nextReplace(0, common, Collections.nCopies(common, (Item) null));
+        }
+        if (size > oldSize) {
+            nextAdd(oldSize, size);
+        } else if (oldSize > size) {
+            nextRemove(size, Collections.nCopies(oldSize - size, (Item) null));
+        }
+        endChange();
+    }
+
+    /**
+     * Number of pages currently held in memory.
+     */
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    public long getKeysetLoads() {
+        return keysetLoads;
+    }
+
+    public long getOffsetLoads() {
+        return offsetLoads;
+    }
+
+    private List<Item> load(int page) {
+        List<Item> rows;
+        Item anchor = page == 0 ? null : pageEnds.get(page - 1);
+        if (page == 0 || anchor != null) {
+            rows = itemDAO.findPageAfter(sortColumn, ascending, anchor, pageSize);
+            keysetLoads++;
+        } else {
+            rows = itemDAO.findPageAt(sortColumn, ascending, page * pageSize, pageSize);
+            offsetLoads++;
+        }
+        if (!rows.isEmpty()) {
+            pageEnds.put(page, rows.get(rows.size() - 1));
+        }
+        pages.put(page, rows);
+        return rows;
+    }
+}
@@ -1,9 +1,10 @@
 package com.expirytracker.controller;
 
-import com.expirytracker.database.ItemDAO;
+import com.expirytracker.database.CategoryDictionary;
+import com.expirytracker.database.ItemRepository;
 import com.expirytracker.model.Item;
 import com.expirytracker.service.OcrService;
-import com.expirytracker.util.DateParser;
+import com.expirytracker.util.ScanTextParser;
 import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -14,7 +15,6 @@ import javafx.scene.layout.*;
 
 import java.io.File;
 import java.time.LocalDate;
-import java.util.Optional;
 
 /**
  * Dialog for scanning images with OCR and extracting item information.
@@ -23,7 +23,7 @@ public class ScanImageDialog extends Dialog<Item> {
     
     private final File imageFile;
     private final OcrService ocrService;
-    private final ItemDAO itemDAO;
+    private final ItemRepository itemRepository;
     
     private TextField nameField;
     private DatePicker purchaseDatePicker;
@@ -40,10 +40,10 @@ public class ScanImageDialog extends Dialog<Item> {
     
     private String extractedText = "";
 
-    public ScanImageDialog(File imageFile, OcrService ocrService, ItemDAO itemDAO) {
+    public ScanImageDialog(File imageFile, OcrService ocrService, ItemRepository itemRepository) {
         this.imageFile = imageFile;
         this.ocrService = ocrService;
-        this.itemDAO = itemDAO;
+        this.itemRepository = itemRepository;
         
         setTitle("Scan Image - OCR Expiry Detection");
         setHeaderText("Process image to extract product information");
@@ -107,24 +107,8 @@ public class ScanImageDialog extends Dialog<Item> {
         formGrid.add(nameField, 1, row++);
         
         categoryCombo = new ComboBox<>();
-        categoryCombo.getItems().addAll(
-            "Dairy & Eggs",
-            "Meat & Poultry", 
-            "Seafood",
-            "Vegetables", 
-            "Fruits",
-            "Bread & Bakery",
-            "Grains & Cereals",
-            "Canned Goods",
-            "Frozen Foods",
-            "Beverages",
-            "Snacks & Sweets",
-            "Condiments & Sauces",
-            "Baby Food",
-            "Pet Food",
-            "Supplements & Vitamins",
-            "Other"
-        );
+        categoryCombo.getItems().addAll(CategoryDictionary.STANDARD_CATEGORIES);
+        categoryCombo.getItems().add("Other");
         categoryCombo.setPromptText("Select category (auto-suggested)");
         categoryCombo.setPrefWidth(400);
         
@@ -297,126 +281,22 @@ public class ScanImageDialog extends Dialog<Item> {
         if (text == null || text.trim().isEmpty()) {
             return;
         }
-        
-        // Extract product name
-        String productName = DateParser.extractProductName(text);
-        if (productName != null && !productName.isEmpty()) {
-            nameField.setText(productName);
-        }
-
-        // Extract expiry date
-        Optional<LocalDate> expiryDate = DateParser.parseDateFromText(text);
-        expiryDate.ifPresent(date -> {
-            // Check if this looks like a manufacture date
-            String textUpper = text.toUpperCase();
-            if (textUpper.contains("MFG") || textUpper.contains("MANUFAC") || 
-                textUpper.contains("MFD") || textUpper.contains("PRODUCTION")) {
-                // Manufacture date detected - add default shelf life
-                expiryDatePicker.setValue(date.plusMonths(6));
-                if (notesArea.getText().isEmpty()) {
-                    notesArea.setText("Manufacture date detected: " + date + 
-                                    "\nEstimated expiry (6 months added)");
-                }
-            } else {
-                // Likely an expiry date
-                expiryDatePicker.setValue(date);
-            }
-        });
 
-        // Enhanced category suggestion based on keywords
-        suggestCategory(text);
-    }
-    
-    /**
-     * Suggest category based on text content.
-     */
-    private void suggestCategory(String text) {
-        String textUpper = text.toUpperCase();
-        
-        // Dairy & Eggs
-        if (textUpper.contains("MILK") || textUpper.contains("DAIRY") || 
-            textUpper.contains("CHEESE") || textUpper.contains("YOGURT") ||
-            textUpper.contains("BUTTER") || textUpper.contains("CREAM") ||
-            textUpper.contains("EGG")) {
-            categoryCombo.setValue("Dairy & Eggs");
-        }
-        // Meat & Poultry
-        else if (textUpper.contains("MEAT") || textUpper.contains("CHICKEN") || 
-                 textUpper.contains("BEEF") || textUpper.contains("PORK") ||
-                 textUpper.contains("LAMB") || textUpper.contains("TURKEY") ||
-                 textUpper.contains("SAUSAGE") || textUpper.contains("BACON")) {
-            categoryCombo.setValue("Meat & Poultry");
+        ScanTextParser.Result parsed = ScanTextParser.parse(text);
+        if (parsed.getProductName() != null) {
+            nameField.setText(parsed.getProductName());
         }
-        // Seafood
-        else if (textUpper.contains("FISH") || textUpper.contains("SEAFOOD") || 
-                 textUpper.contains("SALMON") || textUpper.contains("TUNA") ||
-                 textUpper.contains("SHRIMP") || textUpper.contains("PRAWN")) {
-            categoryCombo.setValue("Seafood");
+        if (parsed.getExpiryDate() != null) {
+            expiryDatePicker.setValue(parsed.getExpiryDate());
         }
-        // Vegetables
-        else if (textUpper.contains("VEGETABLE") || textUpper.contains("VEGGIE") ||
-                 textUpper.contains("LETTUCE") || textUpper.contains("TOMATO") ||
-                 textUpper.contains("CARROT") || textUpper.contains("SPINACH")) {
-            categoryCombo.setValue("Vegetables");
+        if (parsed.getNotes() != null && notesArea.getText().isEmpty()) {
+            notesArea.setText(parsed.getNotes());
         }
-        // Fruits
-        else if (textUpper.contains("FRUIT") || textUpper.contains("APPLE") || 
-                 textUpper.contains("ORANGE") || textUpper.contains("BANANA") ||
-                 textUpper.contains("BERRY") || textUpper.contains("GRAPE")) {
-            categoryCombo.setValue("Fruits");
-        }
-        // Beverages
-        else if (textUpper.contains("JUICE") || textUpper.contains("DRINK") || 
-                 textUpper.contains("BEVERAGE") || textUpper.contains("SODA") ||
-                 textUpper.contains("WATER") || textUpper.contains("TEA") ||
-                 textUpper.contains("COFFEE")) {
-            categoryCombo.setValue("Beverages");
-        }
-        // Bread & Bakery
-        else if (textUpper.contains("BREAD") || textUpper.contains("BAKERY") ||
-                 textUpper.contains("CAKE") || textUpper.contains("PASTRY") ||
-                 textUpper.contains("ROLL") || textUpper.contains("BAGEL")) {
-            categoryCombo.setValue("Bread & Bakery");
-        }
-        // Canned Goods
-        else if (textUpper.contains("CANNED") || textUpper.contains("CAN") ||
-                 textUpper.contains("TINNED")) {
-            categoryCombo.setValue("Canned Goods");
-        }
-        // Frozen Foods
-        else if (textUpper.contains("FROZEN") || textUpper.contains("FREEZE")) {
-            categoryCombo.setValue("Frozen Foods");
-        }
-        // Snacks & Sweets
-        else if (textUpper.contains("SNACK") || textUpper.contains("CHIP") ||
-                 textUpper.contains("CANDY") || textUpper.contains("CHOCOLATE") ||
-                 textUpper.contains("COOKIE") || textUpper.contains("BISCUIT")) {
-            categoryCombo.setValue("Snacks & Sweets");
-        }
-        // Condiments & Sauces
-        else if (textUpper.contains("SAUCE") || textUpper.contains("KETCHUP") ||
-                 textUpper.contains("MAYO") || textUpper.contains("MUSTARD") ||
-                 textUpper.contains("DRESSING") || textUpper.contains("CONDIMENT")) {
-            categoryCombo.setValue("Condiments & Sauces");
-        }
-        // Baby Food
-        else if (textUpper.contains("BABY") || textUpper.contains("INFANT") ||
-                 textUpper.contains("FORMULA")) {
-            categoryCombo.setValue("Baby Food");
-        }
-        // Pet Food
-        else if (textUpper.contains("PET") || textUpper.contains("DOG") ||
-                 textUpper.contains("CAT") || textUpper.contains("ANIMAL")) {
-            categoryCombo.setValue("Pet Food");
-        }
-        // Supplements & Vitamins
-        else if (textUpper.contains("VITAMIN") || textUpper.contains("SUPPLEMENT") ||
-                 textUpper.contains("MINERAL") || textUpper.contains("CAPSULE") ||
-                 textUpper.contains("TABLET")) {
-            categoryCombo.setValue("Supplements & Vitamins");
-        }
-        // Default to first category if nothing matches
-        else if (categoryCombo.getValue() == null) {
+
+        // Category suggestion based on keywords
+        if (parsed.getCategory() != null) {
+            categoryCombo.setValue(parsed.getCategory());
+        } else if (categoryCombo.getValue() == null) {
             categoryCombo.setValue("Other");
         }
     }
@@ -481,7 +361,7 @@ public class ScanImageDialog extends Dialog<Item> {
 
         // Save to database
         try {
-            if (itemDAO.insert(item)) {
+            if (itemRepository.insert(item)) {
                 System.out.println("✓ Item saved successfully: " + item.getName());
                 return item;
             } else {
@@ -0,0 +1,42 @@
+package com.expirytracker.database;
+
+/**
+ * Outcome of a bulk insert: how many rows were written and how fast.
+ */
+public class BulkInsertResult {
+    private final int requested;
+    private final int inserted;
+    private final long elapsedNanos;
+
+    public BulkInsertResult(int requested, int inserted, long elapsedNanos) {
+        this.requested = requested;
+        this.inserted = inserted;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getFailed() {
+        return requested - inserted;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : inserted * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkInsertResult{inserted=%d/%d, elapsed=%d ms, rate=%.0f rows/s}",
+                inserted, requested, getElapsedMillis(), getRowsPerSecond());
+    }
+}
@@ -0,0 +1,162 @@
+package com.expirytracker.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory copy of the {@code categories} table, mapping integer ids to one
+ * shared String per category. Items loaded from the database all reference
+ * these instances, so a category costs one String however many rows use it,
+ * and code holding an id can filter or group with integer comparisons.
+ * Names are matched case-insensitively, like the table's UNIQUE constraint.
+ */
+public class CategoryDictionary {
+
+    /** Categories offered in the item dialogs, seeded by schema migration 5 with ids 1-15. */
+    public static final List<String> STANDARD_CATEGORIES = List.of(
+        "Dairy & Eggs",
+        "Meat & Poultry",
+        "Seafood",
+        "Vegetables",
+        "Fruits",
+        "Bread & Bakery",
+        "Grains & Cereals",
+        "Canned Goods",
+        "Frozen Foods",
+        "Beverages",
+        "Snacks & Sweets",
+        "Condiments & Sauces",
+        "Baby Food",
+        "Pet Food",
+        "Supplements & Vitamins"
+    );
+
+    private final DatabaseManager dbManager;
+    private final Map<Integer, String> namesById = new HashMap<>();
+    private final Map<String, Integer> idsByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private boolean loaded;
+
+    CategoryDictionary(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Shared name for a category id, or null if unknown.
+     */
+    public synchronized String nameOf(int id) {
+        ensureLoaded();
+        return namesById.get(id);
+    }
+
+    /**
+     * Id of an existing category, or null if there is none with that name.
+     */
+    public synchronized Integer idOf(String name) {
+        if (name == null) {
+            return null;
+        }
+        ensureLoaded();
+        return idsByName.get(name);
+    }
+
+    /**
+     * The shared instance for a category name, or the name itself if it is not in the table yet.
+     */
+    public synchronized String intern(String name) {
+        Integer id = idOf(name);
+        return id == null ? name : namesById.get(id);
+    }
+
+    /**
+     * All category names, sorted alphabetically.
+     */
+    public synchronized List<String> getNames() {
+        ensureLoaded();
+        return Collections.unmodifiableList(new ArrayList<>(idsByName.keySet()));
+    }
+
+    /**
+     * Id for a category, creating it if needed. Must be called on the writer
+     * connection, inside the same transaction as the row that references it.
+     * @return the id, or null for a null or blank name
+     */
+    synchronized Integer idFor(Connection writeConnection, String name) throws SQLException {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        ensureLoaded(writeConnection);
+        Integer id = idsByName.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        PreparedStatement insert = dbManager.prepare(writeConnection, "INSERT OR IGNORE INTO categories (name) VALUES (?)");
+        insert.setString(1, name);
+        insert.executeUpdate();
+
+        PreparedStatement select = dbManager.prepare(writeConnection, "SELECT id, name FROM categories WHERE name = ?");
+        select.setString(1, name);
+        try (ResultSet rs = select.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("Category was not created: " + name);
+            }
+            id = rs.getInt(1);
+            put(id, rs.getString(2));
+            return id;
+        }
+    }
+
+    /**
+     * Forget the cached table, e.g. after a rolled-back transaction that created categories.
+     */
+    public synchronized void invalidate() {
+        namesById.clear();
+        idsByName.clear();
+        loaded = false;
+    }
+
+    /**
+     * Load the table through a connection the caller already holds. DAO code
+     * running inside {@link DatabaseManager#read} must use this before decoding
+     * rows, since borrowing a second pooled connection there could deadlock.
+     */
+    synchronized void ensureLoaded(Connection conn) throws SQLException {
+        if (loaded) {
+            return;
+        }
+        try (ResultSet rs = dbManager.prepare(conn, "SELECT id, name FROM categories").executeQuery()) {
+            while (rs.next()) {
+                put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        loaded = true;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        try {
+            dbManager.read(conn -> {
+                ensureLoaded(conn);
+                return null;
+            });
+        } catch (SQLException e) {
+            System.err.println("Error loading categories: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void put(int id, String name) {
+        namesById.put(id, name);
+        idsByName.put(name, id);
+    }
+}
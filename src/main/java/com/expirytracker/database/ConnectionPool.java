@@ -0,0 +1,124 @@
+package com.expirytracker.database;
+
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-size pool of read-only SQLite connections.
+ * In WAL mode readers never block the writer (or each other), so each
+ * thread that needs to query borrows its own connection from here.
+ */
+class ConnectionPool {
+    private final String url;
+    private final SQLiteConfig sqliteConfig;
+    private final long acquireTimeoutMs;
+    private final BlockingQueue<Connection> idle;
+    private final List<Connection> all = new ArrayList<>();
+    private final Consumer<Connection> onDiscard;
+    private volatile boolean closed = false;
+
+    ConnectionPool(String url, SQLiteConfig sqliteConfig, int size, long acquireTimeoutMs) throws SQLException {
+        this(url, sqliteConfig, size, acquireTimeoutMs, connection -> { });
+    }
+
+    /**
+     * @param onDiscard called with each connection the pool closes or replaces,
+     *                  so per-connection state can be released
+     */
+    ConnectionPool(String url, SQLiteConfig sqliteConfig, int size, long acquireTimeoutMs,
+                   Consumer<Connection> onDiscard) throws SQLException {
+        this.url = url;
+        this.onDiscard = onDiscard;
+        this.sqliteConfig = sqliteConfig;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.idle = new ArrayBlockingQueue<>(size);
+
+        // Open everything up front so the first queries don't pay the connect cost
+        for (int i = 0; i < size; i++) {
+            Connection connection = open();
+            all.add(connection);
+            idle.add(connection);
+        }
+    }
+
+    private Connection open() throws SQLException {
+        return DriverManager.getConnection(url, sqliteConfig.toProperties());
+    }
+
+    /**
+     * Borrow a connection, waiting up to the acquire timeout if all are in use.
+     */
+    Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            Connection connection = idle.poll(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            if (connection == null) {
+                throw new SQLException("Timed out after " + acquireTimeoutMs + " ms waiting for a read connection");
+            }
+            if (connection.isClosed()) {
+                // Replace a connection that was closed underneath us
+                Connection replacement;
+                try {
+                    replacement = open();
+                } catch (SQLException e) {
+                    // Keep the slot: the next borrow retries the replacement
+                    idle.offer(connection);
+                    throw e;
+                }
+                synchronized (all) {
+                    all.remove(connection);
+                    all.add(replacement);
+                }
+                onDiscard.accept(connection);
+                connection = replacement;
+            }
+            return connection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection", e);
+        }
+    }
+
+    /**
+     * Return a borrowed connection to the pool.
+     */
+    void release(Connection connection) {
+        if (connection != null && !closed) {
+            idle.offer(connection);
+        }
+    }
+
+    int size() {
+        return all.size();
+    }
+
+    /**
+     * Close every connection, including ones currently borrowed.
+     */
+    void close() {
+        closed = true;
+        synchronized (all) {
+            for (Connection connection : all) {
+                onDiscard.accept(connection);
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    System.err.println("Error closing pooled connection: " + e.getMessage());
+                }
+            }
+            all.clear();
+        }
+        idle.clear();
+    }
+}
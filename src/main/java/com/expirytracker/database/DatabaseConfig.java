@@ -0,0 +1,109 @@
+package com.expirytracker.database;
+
+import org.sqlite.SQLiteConfig;
+
+import java.io.File;
+
+/**
+ * Tunable settings for the SQLite connection layer.
+ * Every value can be overridden with a system property, e.g.
+ * {@code -Dexpirytracker.db.readPoolSize=8}.
+ */
+public class DatabaseConfig {
+    private static final String PREFIX = "expirytracker.db.";
+
+    private static final String DEFAULT_DB_PATH = System.getProperty("user.home") + File.separator
+            + ".expirytracker" + File.separator + "expiry.db";
+
+    private final String dbPath;
+    private final int readPoolSize;
+    private final int busyTimeoutMs;
+    private final SQLiteConfig.SynchronousMode synchronous;
+    private final int cacheSize;
+    private final long mmapSize;
+    private final int statementCacheSize;
+
+    public DatabaseConfig(String dbPath, int readPoolSize, int busyTimeoutMs,
+                          SQLiteConfig.SynchronousMode synchronous, int cacheSize, long mmapSize,
+                          int statementCacheSize) {
+        this.dbPath = dbPath;
+        this.readPoolSize = Math.max(1, readPoolSize);
+        this.busyTimeoutMs = Math.max(0, busyTimeoutMs);
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = Math.max(0, mmapSize);
+        this.statementCacheSize = Math.max(1, statementCacheSize);
+    }
+
+    /**
+     * Load settings from system properties, falling back to defaults.
+     */
+    public static DatabaseConfig fromSystemProperties() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return new DatabaseConfig(
+            System.getProperty(PREFIX + "path", DEFAULT_DB_PATH),
+            intProperty("readPoolSize", Math.max(2, Math.min(4, cores))),
+            intProperty("busyTimeoutMs", 5000),
+            SQLiteConfig.SynchronousMode.valueOf(
+                System.getProperty(PREFIX + "synchronous", "NORMAL").trim().toUpperCase()),
+            intProperty("cacheSize", -8192),          // negative = KiB, i.e. 8 MiB page cache
+            longProperty("mmapSize", 64L * 1024 * 1024),
+            intProperty("statementCacheSize", 32)
+        );
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return (int) longProperty(name, defaultValue);
+    }
+
+    private static long longProperty(String name, long defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + PREFIX + name + ": " + value + " (using " + defaultValue + ")");
+            return defaultValue;
+        }
+    }
+
+    public String getDbPath() {
+        return dbPath;
+    }
+
+    public String getJdbcUrl() {
+        return "jdbc:sqlite:" + dbPath;
+    }
+
+    public int getReadPoolSize() {
+        return readPoolSize;
+    }
+
+    public int getBusyTimeoutMs() {
+        return busyTimeoutMs;
+    }
+
+    public SQLiteConfig.SynchronousMode getSynchronous() {
+        return synchronous;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public long getMmapSize() {
+        return mmapSize;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DatabaseConfig{path='%s', readPoolSize=%d, busyTimeoutMs=%d, synchronous=%s, cacheSize=%d, mmapSize=%d, statementCacheSize=%d}",
+                dbPath, readPoolSize, busyTimeoutMs, synchronous, cacheSize, mmapSize, statementCacheSize);
+    }
+}
@@ -1,23 +1,57 @@
 package com.expirytracker.database;
 
+import org.sqlite.SQLiteConfig;
+
 import java.io.File;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Manages SQLite database connection and initialization.
+ * Manages SQLite connections and initialization.
+ * The database runs in WAL mode with a single serialized writer connection
+ * and a pool of read-only connections, so queries from the FX thread, the
+ * notification scheduler and background scans don't queue up behind each other.
  */
 public class DatabaseManager {
-    private static final String DB_DIR = System.getProperty("user.home") + File.separator + ".expirytracker";
-    private static final String DB_PATH = DB_DIR + File.separator + "expiry.db";
-    private static final String DB_URL = "jdbc:sqlite:" + DB_PATH;
-    
+
+    /**
+     * Unit of database work executed against a connection handed out by the manager.
+     * The connection must not be closed or kept beyond the call.
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
     private static DatabaseManager instance;
-    private Connection connection;
+
+    private final DatabaseConfig config;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private Connection writeConnection;
+    private ConnectionPool readPool;
+
+    // One statement cache per open connection
+    private final Map<Connection, StatementCache> statementCaches = Collections.synchronizedMap(new HashMap<>());
+    private final StatementCache.Stats statementCacheStats = new StatementCache.Stats();
+    private final CategoryDictionary categoryDictionary = new CategoryDictionary(this);
 
     private DatabaseManager() {
+        this(DatabaseConfig.fromSystemProperties());
+    }
+
+    /**
+     * Open a database other than the application's shared instance (tests, tools).
+     */
+    public DatabaseManager(DatabaseConfig config) {
+        this.config = config;
         initializeDatabase();
     }
 
@@ -29,84 +63,187 @@ public class DatabaseManager {
     }
 
     /**
-     * Initialize database: create directory and tables if needed.
+     * Initialize database: create directory, open connections and create tables if needed.
      */
     private void initializeDatabase() {
         try {
             // Create database directory if not exists
-            File dbDir = new File(DB_DIR);
-            if (!dbDir.exists()) {
+            File dbDir = new File(config.getDbPath()).getAbsoluteFile().getParentFile();
+            if (dbDir != null && !dbDir.exists()) {
                 dbDir.mkdirs();
-                System.out.println("Created database directory: " + DB_DIR);
+                System.out.println("Created database directory: " + dbDir);
             }
 
-            // Establish connection
-            connection = DriverManager.getConnection(DB_URL);
-            System.out.println("Connected to database: " + DB_PATH);
+            // The writer is opened first: it switches the file to WAL, which readers rely on
+            writeConnection = openWriteConnection();
+            System.out.println("Connected to database: " + config.getDbPath());
 
-            // Create tables
+            // Create or migrate tables
             createTables();
 
+            readPool = new ConnectionPool(config.getJdbcUrl(), readConfig(),
+                    config.getReadPoolSize(), Math.max(1000, config.getBusyTimeoutMs()), this::discardStatements);
+            System.out.println("Read pool ready: " + config);
+
         } catch (SQLException e) {
             System.err.println("Failed to initialize database: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    private SQLiteConfig baseConfig() {
+        SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setBusyTimeout(config.getBusyTimeoutMs());
+        sqliteConfig.setCacheSize(config.getCacheSize());
+        sqliteConfig.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, Long.toString(config.getMmapSize()));
+        return sqliteConfig;
+    }
+
+    private SQLiteConfig readConfig() {
+        SQLiteConfig sqliteConfig = baseConfig();
+        sqliteConfig.setReadOnly(true);
+        return sqliteConfig;
+    }
+
+    private Connection openWriteConnection() throws SQLException {
+        SQLiteConfig sqliteConfig = baseConfig();
+        sqliteConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        sqliteConfig.setSynchronous(config.getSynchronous());
+        return DriverManager.getConnection(config.getJdbcUrl(), sqliteConfig.toProperties());
+    }
+
     /**
-     * Create database tables if they don't exist.
+     * Create or upgrade the schema, then check the hot queries use their indexes.
      */
     private void createTables() throws SQLException {
-        String createItemsTable = """
-            CREATE TABLE IF NOT EXISTS items (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                name TEXT NOT NULL,
-                category TEXT,
-                purchase_date TEXT,
-                expiry_date TEXT,
-                quantity INTEGER DEFAULT 1,
-                notes TEXT,
-                image_path TEXT
-            )
-        """;
-
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(createItemsTable);
-            System.out.println("Database tables initialized successfully");
+        int version = SchemaMigrator.migrate(writeConnection);
+        System.out.println("Database schema at version " + version);
+        SchemaMigrator.verifyQueryPlans(writeConnection);
+    }
+
+    /**
+     * Category names by id, shared by every DAO on this database.
+     */
+    public CategoryDictionary getCategoryDictionary() {
+        return categoryDictionary;
+    }
+
+    /**
+     * Run a query on a pooled read-only connection.
+     */
+    public <T> T read(SqlWork<T> work) throws SQLException {
+        if (readPool == null) {
+            throw new SQLException("Database is not initialized");
+        }
+        Connection connection = readPool.borrow();
+        try {
+            return work.execute(connection);
+        } finally {
+            readPool.release(connection);
         }
     }
 
     /**
-     * Get the active database connection.
+     * Run work on the single writer connection. Writers are serialized in-process,
+     * which avoids SQLITE_BUSY between our own threads.
      */
-    public Connection getConnection() {
+    public <T> T write(SqlWork<T> work) throws SQLException {
+        writeLock.lock();
         try {
             // Check if connection is still valid
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(DB_URL);
+            if (writeConnection == null || writeConnection.isClosed()) {
+                if (writeConnection != null) {
+                    discardStatements(writeConnection);
+                }
+                writeConnection = openWriteConnection();
             }
-        } catch (SQLException e) {
-            System.err.println("Failed to get database connection: " + e.getMessage());
-            e.printStackTrace();
+            return work.execute(writeConnection);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Run work on the writer connection inside a single transaction.
+     * Commits if the work completes, rolls back if it throws.
+     */
+    public <T> T transaction(SqlWork<T> work) throws SQLException {
+        return write(conn -> {
+            conn.setAutoCommit(false);
+            try {
+                T result = work.execute(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        });
+    }
+
+    /**
+     * Get a cached prepared statement for a connection handed to a {@link SqlWork}.
+     * The statement is reused across calls, so callers must close only the
+     * ResultSets they open, never the statement itself.
+     */
+    public PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        StatementCache cache = statementCaches.computeIfAbsent(connection,
+                c -> new StatementCache(c, config.getStatementCacheSize(), statementCacheStats));
+        return cache.prepare(sql);
+    }
+
+    /**
+     * Close and forget the cached statements of a connection that is being closed or replaced.
+     */
+    private void discardStatements(Connection connection) {
+        StatementCache cache = statementCaches.remove(connection);
+        if (cache != null) {
+            cache.clear();
         }
-        return connection;
+    }
+
+    public StatementCache.Stats getStatementCacheStats() {
+        return statementCacheStats;
     }
 
     /**
-     * Close the database connection.
+     * Close all database connections.
      */
-    public void closeConnection() {
+    public void close() {
+        System.out.println(statementCacheStats);
+        synchronized (statementCaches) {
+            for (StatementCache cache : new ArrayList<>(statementCaches.values())) {
+                cache.clear();
+            }
+            statementCaches.clear();
+        }
+        if (readPool != null) {
+            readPool.close();
+        }
+        writeLock.lock();
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Database connection closed");
+            if (writeConnection != null && !writeConnection.isClosed()) {
+                // Let SQLite refresh planner statistics that have drifted during the session
+                try (Statement stmt = writeConnection.createStatement()) {
+                    stmt.execute("PRAGMA optimize");
+                }
+                writeConnection.close();
+                System.out.println("Database connections closed");
             }
         } catch (SQLException e) {
             System.err.println("Error closing database connection: " + e.getMessage());
+        } finally {
+            writeLock.unlock();
         }
     }
 
+    public DatabaseConfig getConfig() {
+        return config;
+    }
+
     public String getDatabasePath() {
-        return DB_PATH;
+        return config.getDbPath();
     }
 }
@@ -1,83 +1,203 @@
 package com.expirytracker.database;
 
 import com.expirytracker.model.Item;
+import com.expirytracker.util.DayClock;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Data Access Object for Item entity - handles all database operations.
+ * Statements come from the per-connection cache in {@link DatabaseManager},
+ * so they are never closed here; only their ResultSets are.
  */
 public class ItemDAO {
     private final DatabaseManager dbManager;
+    private final CategoryDictionary categories;
 
     public ItemDAO() {
-        this.dbManager = DatabaseManager.getInstance();
+        this(DatabaseManager.getInstance());
     }
 
+    public ItemDAO(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+        this.categories = dbManager.getCategoryDictionary();
+    }
+
+    public CategoryDictionary getCategories() {
+        return categories;
+    }
+
+    private static final String INSERT_SQL = """
+        INSERT INTO items (name, category_id, purchase_date, expiry_date, quantity, notes, image_path)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    static final String FIND_ALL_SQL = "SELECT * FROM items ORDER BY expiry_date ASC";
+
+    static final String FIND_EXPIRING_SQL = """
+        SELECT * FROM items
+        WHERE expiry_date IS NOT NULL
+        AND expiry_date <= ?
+        AND expiry_date >= ?
+        ORDER BY expiry_date ASC
+    """;
+
+    static final String FIND_EXPIRED_SQL = """
+        SELECT * FROM items
+        WHERE expiry_date < ?
+        ORDER BY expiry_date ASC
+    """;
+
+    static final String FIND_NEXT_EXPIRING_SQL = """
+        SELECT * FROM items
+        WHERE expiry_date >= ?
+        ORDER BY expiry_date ASC, id ASC
+        LIMIT 1
+    """;
+
+    // bm25 column weights: name, category, notes
+    static final String SEARCH_FTS_SQL = """
+        SELECT items.* FROM items_fts
+        JOIN items ON items.id = items_fts.rowid
+        WHERE items_fts MATCH ?
+        ORDER BY bm25(items_fts, 10.0, 4.0, 1.0), items.expiry_date ASC
+    """;
+
+    /** Rows per transaction for bulk inserts. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     /**
      * Insert a new item into the database.
      */
     public boolean insert(Item item) {
-        String sql = """
-            INSERT INTO items (name, category, purchase_date, expiry_date, quantity, notes, image_path)
-            VALUES (?, ?, ?, ?, ?, ?, ?)
-        """;
+        // RETURNING hands back the new id in the same round trip
+        String sql = INSERT_SQL + " RETURNING id";
+
+        try {
+            return dbManager.write(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, sql);
+                bindInsert(conn, pstmt, item);
 
-        try (PreparedStatement pstmt = dbManager.getConnection().prepareStatement(sql)) {
-            
-            pstmt.setString(1, item.getName());
-            pstmt.setString(2, item.getCategory());
-            pstmt.setString(3, item.getPurchaseDate() != null ? item.getPurchaseDate().toString() : null);
-            pstmt.setString(4, item.getExpiryDate() != null ? item.getExpiryDate().toString() : null);
-            pstmt.setInt(5, item.getQuantity());
-            pstmt.setString(6, item.getNotes());
-            pstmt.setString(7, item.getImagePath());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                // Get the last inserted ID using SQLite's last_insert_rowid()
-                try (Statement stmt = dbManager.getConnection().createStatement();
-                     ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+                try (ResultSet rs = pstmt.executeQuery()) {
                     if (rs.next()) {
                         item.setId(rs.getInt(1));
+                        item.setCategory(categories.intern(item.getCategory()));
+                        return true;
                     }
                 }
-                return true;
-            }
+                return false;
+            });
         } catch (SQLException e) {
+            categories.invalidate();
             System.err.println("Error inserting item: " + e.getMessage());
             e.printStackTrace();
         }
         return false;
     }
 
+    /**
+     * Insert many items using JDBC batching, committing every {@link #DEFAULT_BATCH_SIZE} rows.
+     */
+    public BulkInsertResult insertAll(List<Item> items) {
+        return insertAll(items, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insert many items using JDBC batching, one transaction per chunk of {@code batchSize} rows.
+     * Generated ids are assigned back to the items. A chunk that fails is rolled back
+     * and skipped, leaving its items with id 0; earlier chunks stay committed.
+     */
+    public BulkInsertResult insertAll(List<Item> items, int batchSize) {
+        long start = System.nanoTime();
+        int inserted = 0;
+
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<Item> chunk = items.subList(from, Math.min(from + batchSize, items.size()));
+            try {
+                inserted += dbManager.transaction(conn -> insertChunk(conn, chunk));
+            } catch (SQLException e) {
+                categories.invalidate(); // the rollback may have dropped new categories
+                for (Item item : chunk) {
+                    item.setId(0); // ids may have been assigned before the commit failed
+                }
+                System.err.println("Error inserting rows " + from + "-" + (from + chunk.size() - 1) + ": " + e.getMessage());
+            }
+        }
+
+        return new BulkInsertResult(items.size(), inserted, System.nanoTime() - start);
+    }
+
+    private int insertChunk(Connection conn, List<Item> chunk) throws SQLException {
+        PreparedStatement pstmt = dbManager.prepare(conn, INSERT_SQL);
+        pstmt.clearBatch(); // drop leftovers from a previously failed chunk
+        for (Item item : chunk) {
+            bindInsert(conn, pstmt, item);
+            pstmt.addBatch();
+        }
+        pstmt.executeBatch();
+
+        // The driver doesn't return batch keys, but inside our single-writer transaction
+        // AUTOINCREMENT hands out consecutive ids, so they can be derived from the last one.
+        try (ResultSet rs = dbManager.prepare(conn, "SELECT last_insert_rowid()").executeQuery()) {
+            if (rs.next()) {
+                int firstId = rs.getInt(1) - chunk.size() + 1;
+                for (int i = 0; i < chunk.size(); i++) {
+                    Item item = chunk.get(i);
+                    item.setId(firstId + i);
+                    item.setCategory(categories.intern(item.getCategory()));
+                }
+            }
+        }
+        return chunk.size();
+    }
+
+    private void bindInsert(Connection conn, PreparedStatement pstmt, Item item) throws SQLException {
+        pstmt.setString(1, item.getName());
+        pstmt.setObject(2, categories.idFor(conn, item.getCategory()));
+        pstmt.setObject(3, toEpochDay(item.getPurchaseDate()));
+        pstmt.setObject(4, toEpochDay(item.getExpiryDate()));
+        pstmt.setInt(5, item.getQuantity());
+        pstmt.setString(6, item.getNotes());
+        pstmt.setString(7, item.getImagePath());
+    }
+
     /**
      * Update an existing item in the database.
      */
     public boolean update(Item item) {
         String sql = """
             UPDATE items 
-            SET name = ?, category = ?, purchase_date = ?, expiry_date = ?, 
+            SET name = ?, category_id = ?, purchase_date = ?, expiry_date = ?, 
                 quantity = ?, notes = ?, image_path = ?
             WHERE id = ?
         """;
 
-        try (PreparedStatement pstmt = dbManager.getConnection().prepareStatement(sql)) {
-            pstmt.setString(1, item.getName());
-            pstmt.setString(2, item.getCategory());
-            pstmt.setString(3, item.getPurchaseDate() != null ? item.getPurchaseDate().toString() : null);
-            pstmt.setString(4, item.getExpiryDate() != null ? item.getExpiryDate().toString() : null);
-            pstmt.setInt(5, item.getQuantity());
-            pstmt.setString(6, item.getNotes());
-            pstmt.setString(7, item.getImagePath());
-            pstmt.setInt(8, item.getId());
+        try {
+            return dbManager.write(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, sql);
+                pstmt.setString(1, item.getName());
+                pstmt.setObject(2, categories.idFor(conn, item.getCategory()));
+                pstmt.setObject(3, toEpochDay(item.getPurchaseDate()));
+                pstmt.setObject(4, toEpochDay(item.getExpiryDate()));
+                pstmt.setInt(5, item.getQuantity());
+                pstmt.setString(6, item.getNotes());
+                pstmt.setString(7, item.getImagePath());
+                pstmt.setInt(8, item.getId());
 
-            return pstmt.executeUpdate() > 0;
+                boolean updated = pstmt.executeUpdate() > 0;
+                item.setCategory(categories.intern(item.getCategory()));
+                return updated;
+            });
         } catch (SQLException e) {
+            categories.invalidate();
             System.err.println("Error updating item: " + e.getMessage());
             e.printStackTrace();
         }
@@ -90,9 +210,12 @@ public class ItemDAO {
     public boolean delete(int id) {
         String sql = "DELETE FROM items WHERE id = ?";
 
-        try (PreparedStatement pstmt = dbManager.getConnection().prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            return pstmt.executeUpdate() > 0;
+        try {
+            return dbManager.write(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, sql);
+                pstmt.setInt(1, id);
+                return pstmt.executeUpdate() > 0;
+            });
         } catch (SQLException e) {
             System.err.println("Error deleting item: " + e.getMessage());
             e.printStackTrace();
@@ -104,20 +227,71 @@ public class ItemDAO {
      * Get all items from the database.
      */
     public List<Item> findAll() {
-        List<Item> items = new ArrayList<>();
-        String sql = "SELECT * FROM items ORDER BY expiry_date ASC";
+        try {
+            return dbManager.read(conn -> mapAll(dbManager.prepare(conn, FIND_ALL_SQL)));
+        } catch (SQLException e) {
+            System.err.println("Error retrieving items: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Receives rows from {@link #streamAll(RowHandler)} one at a time.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void handle(ResultSet row) throws SQLException, IOException;
+    }
 
-        try (Statement stmt = dbManager.getConnection().createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    /**
+     * Stream every row through a forward-only cursor without building Item objects.
+     * Columns, in order: name, category, purchase_date, expiry_date, quantity, notes, image_path.
+     * The two dates are epoch days (see {@link #toEpochDay}); check {@code wasNull()}.
+     * @return number of rows handled
+     */
+    public long streamAll(RowHandler handler) throws SQLException, IOException {
+        String sql = """
+            SELECT items.name, categories.name, purchase_date, expiry_date, quantity, notes, image_path
+            FROM items LEFT JOIN categories ON categories.id = items.category_id
+            ORDER BY expiry_date ASC
+        """;
 
-            while (rs.next()) {
-                items.add(mapResultSetToItem(rs));
-            }
+        try {
+            return dbManager.read(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, sql);
+                pstmt.setFetchSize(1000);
+                long rows = 0;
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        handler.handle(rs);
+                        rows++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return rows;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Count all items.
+     */
+    public int count() {
+        try {
+            return dbManager.read(conn -> {
+                try (ResultSet rs = dbManager.prepare(conn, "SELECT COUNT(*) FROM items").executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            });
         } catch (SQLException e) {
-            System.err.println("Error retrieving items: " + e.getMessage());
+            System.err.println("Error counting items: " + e.getMessage());
             e.printStackTrace();
         }
-        return items;
+        return 0;
     }
 
     /**
@@ -126,13 +300,15 @@ public class ItemDAO {
     public Item findById(int id) {
         String sql = "SELECT * FROM items WHERE id = ?";
 
-        try (PreparedStatement pstmt = dbManager.getConnection().prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToItem(rs);
+        try {
+            return dbManager.read(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, sql);
+                pstmt.setInt(1, id);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    categories.ensureLoaded(conn);
+                    return rs.next() ? mapResultSetToItem(rs) : null;
                 }
-            }
+            });
         } catch (SQLException e) {
             System.err.println("Error finding item by ID: " + e.getMessage());
             e.printStackTrace();
@@ -140,65 +316,350 @@ public class ItemDAO {
         return null;
     }
 
+    /**
+     * Items in one category, compared by id rather than by name.
+     */
+    public List<Item> findByCategory(String category) {
+        Integer categoryId = categories.idOf(category);
+        if (categoryId == null) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT * FROM items WHERE category_id = ? ORDER BY expiry_date ASC";
+        try {
+            return dbManager.read(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, sql);
+                pstmt.setInt(1, categoryId);
+                return mapAll(pstmt);
+            });
+        } catch (SQLException e) {
+            System.err.println("Error retrieving items by category: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Number of items per category (items without one are left out),
+     * grouped by id in SQL and named from the dictionary.
+     */
+    public Map<String, Integer> countByCategory() {
+        String sql = "SELECT category_id, COUNT(*) FROM items WHERE category_id IS NOT NULL GROUP BY category_id";
+        try {
+            return dbManager.read(conn -> {
+                categories.ensureLoaded(conn);
+                Map<String, Integer> counts = new LinkedHashMap<>();
+                try (ResultSet rs = dbManager.prepare(conn, sql).executeQuery()) {
+                    while (rs.next()) {
+                        counts.put(categories.nameOf(rs.getInt(1)), rs.getInt(2));
+                    }
+                }
+                return counts;
+            });
+        } catch (SQLException e) {
+            System.err.println("Error counting items by category: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new LinkedHashMap<>();
+    }
+
     /**
      * Find items expiring within specified days.
      */
     public List<Item> findExpiringWithinDays(int days) {
-        List<Item> items = new ArrayList<>();
-        LocalDate targetDate = LocalDate.now().plusDays(days);
-        
-        String sql = """
-            SELECT * FROM items 
-            WHERE expiry_date IS NOT NULL 
-            AND expiry_date <= ? 
-            AND expiry_date >= ?
-            ORDER BY expiry_date ASC
-        """;
+        LocalDate today = DayClock.get().today();
+        LocalDate targetDate = today.plusDays(days);
 
-        try (PreparedStatement pstmt = dbManager.getConnection().prepareStatement(sql)) {
-            pstmt.setString(1, targetDate.toString());
-            pstmt.setString(2, LocalDate.now().toString());
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    items.add(mapResultSetToItem(rs));
-                }
-            }
+        try {
+            return dbManager.read(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, FIND_EXPIRING_SQL);
+                pstmt.setLong(1, targetDate.toEpochDay());
+                pstmt.setLong(2, today.toEpochDay());
+                return mapAll(pstmt);
+            });
         } catch (SQLException e) {
             System.err.println("Error finding expiring items: " + e.getMessage());
             e.printStackTrace();
         }
-        return items;
+        return new ArrayList<>();
     }
 
     /**
-     * Search items by name or category.
+     * Find items whose expiry date is before today.
+     */
+    public List<Item> findExpired() {
+        long today = DayClock.get().todayEpochDay();
+
+        try {
+            return dbManager.read(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, FIND_EXPIRED_SQL);
+                pstmt.setLong(1, today);
+                return mapAll(pstmt);
+            });
+        } catch (SQLException e) {
+            System.err.println("Error finding expired items: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Number of items expiring between two epoch days, inclusive.
+     */
+    public int countExpiringBetween(long fromEpochDay, long toEpochDay) {
+        String sql = "SELECT COUNT(*) FROM items WHERE expiry_date BETWEEN ? AND ?";
+
+        try {
+            return dbManager.read(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, sql);
+                pstmt.setLong(1, fromEpochDay);
+                pstmt.setLong(2, toEpochDay);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error counting expiring items: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Find the item expiring soonest on or after the given epoch day, or null if there is none.
+     */
+    public Item findNextExpiring(long fromEpochDay) {
+        try {
+            return dbManager.read(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, FIND_NEXT_EXPIRING_SQL);
+                pstmt.setLong(1, fromEpochDay);
+                List<Item> items = mapAll(pstmt);
+                return items.isEmpty() ? null : items.get(0);
+            });
+        } catch (SQLException e) {
+            System.err.println("Error finding next expiring item: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Search items by name, category or notes using the full-text index.
+     * Every word must match, and each may be the start of a longer word
+     * (so "choc mi" finds "Chocolate Milk"). Results are ranked by relevance,
+     * with name matches weighted highest.
      */
     public List<Item> search(String keyword) {
-        List<Item> items = new ArrayList<>();
+        String match = toMatchQuery(keyword);
+        if (match == null) {
+            return findAll();
+        }
+
+        try {
+            return dbManager.read(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, SEARCH_FTS_SQL);
+                pstmt.setString(1, match);
+                return mapAll(pstmt);
+            });
+        } catch (SQLException e) {
+            // Databases without FTS5 support still get (slow) substring search
+            System.err.println("Full-text search failed, falling back to LIKE: " + e.getMessage());
+        }
+        return searchLike(keyword);
+    }
+
+    private List<Item> searchLike(String keyword) {
         String sql = """
-            SELECT * FROM items 
-            WHERE name LIKE ? OR category LIKE ?
+            SELECT items.* FROM items
+            LEFT JOIN categories ON categories.id = items.category_id
+            WHERE items.name LIKE ? OR categories.name LIKE ?
             ORDER BY expiry_date ASC
         """;
 
-        try (PreparedStatement pstmt = dbManager.getConnection().prepareStatement(sql)) {
-            String searchPattern = "%" + keyword + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    items.add(mapResultSetToItem(rs));
-                }
-            }
+        try {
+            return dbManager.read(conn -> {
+                PreparedStatement pstmt = dbManager.prepare(conn, sql);
+                String searchPattern = "%" + keyword + "%";
+                pstmt.setString(1, searchPattern);
+                pstmt.setString(2, searchPattern);
+                return mapAll(pstmt);
+            });
         } catch (SQLException e) {
             System.err.println("Error searching items: " + e.getMessage());
             e.printStackTrace();
         }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Turn free text into an FTS5 query: each word becomes a quoted prefix term,
+     * so user input can never be parsed as FTS operators.
+     * @return the MATCH expression, or null if the input has no searchable words
+     */
+    static String toMatchQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String word : keyword.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) continue;
+            if (match.length() > 0) match.append(' ');
+            match.append('"').append(word).append("\"*");
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    private static final String CATEGORY_JOIN = "items LEFT JOIN categories ON categories.id = items.category_id";
+
+    /**
+     * Columns the paged queries can sort by. Ties are always broken by id so
+     * every row has a unique position, which keyset paging relies on.
+     */
+    public enum SortColumn {
+        EXPIRY_DATE("expiry_date", true, item -> toEpochDay(item.getExpiryDate())),
+        NAME("name COLLATE NOCASE", false, Item::getName),
+        // By name like the in-memory table; categories.name is NOCASE and uniquely indexed,
+        // so SQLite walks that index and finds each category's items through idx_items_category
+        CATEGORY(CATEGORY_JOIN, "categories.name", "items.category_id", true,
+                item -> item.getCategory() == null || item.getCategory().isBlank() ? null : item.getCategory()),
+        QUANTITY("quantity", true, Item::getQuantity);
+
+        private final String from;
+        private final String expression;
+        private final String nullTest;
+        private final boolean nullable;
+        private final Function<Item, Object> key;
+
+        SortColumn(String expression, boolean nullable, Function<Item, Object> key) {
+            this("items", expression, expression, nullable, key);
+        }
+
+        /**
+         * @param from the table (or join) the sort expression is evaluated on
+         * @param nullTest indexed column that is NULL exactly when the expression is (while
+         *                 {@code expression IS NOT NULL} lets SQLite turn the join into an inner one)
+         * @param key the item's value of the sort expression, for keyset paging
+         */
+        SortColumn(String from, String expression, String nullTest, boolean nullable, Function<Item, Object> key) {
+            this.from = from;
+            this.expression = expression;
+            this.nullTest = nullTest;
+            this.nullable = nullable;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Fetch the page of items that follows {@code after} in the given order
+     * (keyset pagination). The cost does not grow with how deep the page is.
+     * <p>
+     * SQLite will not seek an index on a row value like {@code (col, id) > (?, ?)},
+     * so the page is read as up to three index seeks: the rest of the rows
+     * sharing {@code after}'s sort key (by id), then the rows with a greater
+     * key, then, descending, the NULL keys that SQLite sorts last.
+     * @param after last item of the previous page, or null for the first page
+     */
+    public List<Item> findPageAfter(SortColumn column, boolean ascending, Item after, int limit) {
+        String col = column.expression;
+        String dir = ascending ? " ASC" : " DESC";
+        String cmp = ascending ? " > ?" : " < ?";
+        String select = "SELECT items.* FROM " + column.from;
+        String orderBy = " ORDER BY " + col + dir + ", items.id" + dir + " LIMIT ?";
+        Object key = after != null ? column.key.apply(after) : null;
+
+        try {
+            return dbManager.read(conn -> {
+                List<Item> items;
+                if (after == null && column.nullable) {
+                    // NULLs apart: a LEFT JOIN sorted as a whole cannot walk the category index
+                    String nulls = select + " WHERE " + column.nullTest + " IS NULL ORDER BY items.id" + dir + " LIMIT ?";
+                    String values = select + " WHERE " + col + " IS NOT NULL" + orderBy;
+                    items = page(conn, ascending ? nulls : values, limit);
+                    if (items.size() < limit) {
+                        items.addAll(page(conn, ascending ? values : nulls, limit - items.size()));
+                    }
+                    return items;
+                }
+                if (after == null) {
+                    return page(conn, select + orderBy, limit);
+                }
+                if (key == null) {
+                    items = page(conn, select + " WHERE " + column.nullTest + " IS NULL AND items.id" + cmp
+                            + " ORDER BY items.id" + dir + " LIMIT ?", after.getId(), limit);
+                    if (ascending && items.size() < limit) {
+                        items.addAll(page(conn, select + " WHERE " + col + " IS NOT NULL" + orderBy,
+                                limit - items.size()));
+                    }
+                    return items;
+                }
+                items = page(conn, select + " WHERE " + col + " = ? AND items.id" + cmp
+                        + " ORDER BY items.id" + dir + " LIMIT ?", key, after.getId(), limit);
+                if (items.size() < limit) {
+                    items.addAll(page(conn, select + " WHERE " + col + cmp + orderBy,
+                            key, limit - items.size()));
+                }
+                if (!ascending && column.nullable && items.size() < limit) {
+                    items.addAll(page(conn, select + " WHERE " + column.nullTest + " IS NULL ORDER BY items.id DESC LIMIT ?",
+                            limit - items.size()));
+                }
+                return items;
+            });
+        } catch (SQLException e) {
+            System.err.println("Error fetching page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Fetch a page by row offset, for jumps to a position with no known
+     * preceding row. SQLite still has to step over {@code offset} index
+     * entries, so prefer {@link #findPageAfter} when paging sequentially.
+     */
+    public List<Item> findPageAt(SortColumn column, boolean ascending, int offset, int limit) {
+        String dir = ascending ? " ASC" : " DESC";
+        String sql = "SELECT items.* FROM " + column.from + " ORDER BY " + column.expression + dir
+                + ", items.id" + dir + " LIMIT ? OFFSET ?";
+        try {
+            return dbManager.read(conn -> page(conn, sql, limit, offset));
+        } catch (SQLException e) {
+            System.err.println("Error fetching page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Run a page query with its parameters in placeholder order.
+     */
+    private List<Item> page(Connection conn, String sql, Object... params) throws SQLException {
+        PreparedStatement pstmt = dbManager.prepare(conn, sql);
+        for (int i = 0; i < params.length; i++) {
+            pstmt.setObject(i + 1, params[i]);
+        }
+        return mapAll(pstmt);
+    }
+
+    /**
+     * Execute a query and map every row.
+     */
+    private List<Item> mapAll(PreparedStatement pstmt) throws SQLException {
+        categories.ensureLoaded(pstmt.getConnection());
+        List<Item> items = new ArrayList<>();
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                items.add(mapResultSetToItem(rs));
+            }
+        }
         return items;
     }
 
+    /**
+     * Dates are stored as INTEGER days since 1970-01-01 (NULL for no date).
+     */
+    static Long toEpochDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : null;
+    }
+
     /**
      * Map ResultSet row to Item object.
      */
@@ -206,16 +667,18 @@ public class ItemDAO {
         Item item = new Item();
         item.setId(rs.getInt("id"));
         item.setName(rs.getString("name"));
-        item.setCategory(rs.getString("category"));
+        int categoryId = rs.getInt("category_id");
+        item.setCategory(rs.wasNull() ? null : categories.nameOf(categoryId));
         
-        String purchaseDate = rs.getString("purchase_date");
-        if (purchaseDate != null) {
-            item.setPurchaseDate(LocalDate.parse(purchaseDate));
+        // Dates are stored as epoch days: no text parsing per row
+        long purchaseDay = rs.getLong("purchase_date");
+        if (!rs.wasNull()) {
+            item.setPurchaseDate(LocalDate.ofEpochDay(purchaseDay));
         }
-        
-        String expiryDate = rs.getString("expiry_date");
-        if (expiryDate != null) {
-            item.setExpiryDate(LocalDate.parse(expiryDate));
+
+        long expiryDay = rs.getLong("expiry_date");
+        if (!rs.wasNull()) {
+            item.setExpiryDate(LocalDate.ofEpochDay(expiryDay));
         }
         
         item.setQuantity(rs.getInt("quantity"));
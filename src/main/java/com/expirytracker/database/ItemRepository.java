@@ -0,0 +1,369 @@
+package com.expirytracker.database;
+
+import com.expirytracker.model.ExpiryIndex;
+import com.expirytracker.model.ExpiryStatus;
+import com.expirytracker.model.Item;
+import com.expirytracker.util.DayClock;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * In-memory view of the items table in front of {@link ItemDAO}.
+ * <p>
+ * The table is loaded once on first use. Writes go to the database first and
+ * are applied to the cache only if they succeed, so SQLite stays the source of
+ * truth and the cache never holds rows that were not persisted. Reads are
+ * served from memory and return the same {@link Item} instances every time.
+ * Expiry queries are answered from an {@link ExpiryIndex} kept in step with
+ * the cache. Change listeners are told about every successful write and
+ * every invalidation.
+ * Bulk changes made directly through the DAO (e.g. CSV import) must be
+ * followed by {@link #invalidate()}.
+ * <p>
+ * Tables larger than {@code maxCachedItems} are not cached at all; every
+ * call then goes straight to the database (see {@link #isCacheable()}).
+ */
+public class ItemRepository {
+
+    /** Same order as the DAO queries: no expiry first, then soonest expiry, then insertion order. */
+    public static final Comparator<Item> DEFAULT_ORDER = Comparator
+            .comparing(Item::getExpiryDate, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+            .thenComparingInt(Item::getId);
+
+    public static final int DEFAULT_MAX_CACHED_ITEMS = 100_000;
+
+    private final ItemDAO itemDAO;
+    private final int maxCachedItems;
+    private final Map<Integer, Item> itemsById = new HashMap<>();
+    private final ExpiryIndex expiryIndex = new ExpiryIndex();
+    private Boolean cacheable; // decided on first use
+    private boolean loaded;
+    private List<Item> sortedSnapshot;
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    public ItemRepository(ItemDAO itemDAO) {
+        this(itemDAO, DEFAULT_MAX_CACHED_ITEMS);
+    }
+
+    public ItemRepository(ItemDAO itemDAO, int maxCachedItems) {
+        this.itemDAO = itemDAO;
+        this.maxCachedItems = maxCachedItems;
+    }
+
+    public ItemDAO getItemDAO() {
+        return itemDAO;
+    }
+
+    /**
+     * Register a callback run after items change through this repository.
+     * It runs on the writing thread while the repository is locked, so it
+     * should only hand the work off (e.g. to an executor).
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Insert an item; on success it gets its id and joins the cache.
+     */
+    public synchronized boolean insert(Item item) {
+        if (!itemDAO.insert(item)) {
+            return false;
+        }
+        if (loaded) {
+            itemsById.put(item.getId(), item);
+            expiryIndex.add(item);
+            sortedSnapshot = null;
+        }
+        fireChanged();
+        return true;
+    }
+
+    /**
+     * Insert items in bulk (see {@link ItemDAO#insertAll(List)}).
+     */
+    public synchronized BulkInsertResult insertAll(List<Item> items) {
+        BulkInsertResult result = itemDAO.insertAll(items);
+        if (loaded) {
+            if (result.getFailed() == 0) {
+                for (Item item : items) {
+                    itemsById.put(item.getId(), item);
+                    expiryIndex.add(item);
+                }
+                sortedSnapshot = null;
+            } else {
+                // Partial failure: we cannot tell which chunks made it
+                invalidate();
+            }
+        }
+        if (result.getInserted() > 0) {
+            fireChanged();
+        }
+        return result;
+    }
+
+    /**
+     * Update an item. Callers may have already modified a cached instance, so
+     * if the database rejects the change the cached copy is re-read from disk.
+     */
+    public synchronized boolean update(Item item) {
+        boolean success = itemDAO.update(item);
+        if (loaded) {
+            if (success) {
+                itemsById.put(item.getId(), item);
+                expiryIndex.update(item);
+            } else {
+                refresh(item.getId());
+            }
+            sortedSnapshot = null;
+        }
+        if (success) {
+            fireChanged();
+        }
+        return success;
+    }
+
+    public synchronized boolean delete(int id) {
+        if (!itemDAO.delete(id)) {
+            return false;
+        }
+        if (loaded && itemsById.remove(id) != null) {
+            expiryIndex.remove(id);
+            sortedSnapshot = null;
+        }
+        fireChanged();
+        return true;
+    }
+
+    /**
+     * All items in {@link #DEFAULT_ORDER}, as an unmodifiable list.
+     */
+    public synchronized List<Item> findAll() {
+        if (!isCacheable()) {
+            return itemDAO.findAll();
+        }
+        ensureLoaded();
+        if (sortedSnapshot == null) {
+            List<Item> sorted = new ArrayList<>(itemsById.values());
+            sorted.sort(DEFAULT_ORDER);
+            sortedSnapshot = Collections.unmodifiableList(sorted);
+        }
+        return sortedSnapshot;
+    }
+
+    public synchronized Item findById(int id) {
+        if (!isCacheable()) {
+            return itemDAO.findById(id);
+        }
+        ensureLoaded();
+        return itemsById.get(id);
+    }
+
+    public synchronized int count() {
+        if (!isCacheable()) {
+            return itemDAO.count();
+        }
+        ensureLoaded();
+        return itemsById.size();
+    }
+
+    /**
+     * Items matching a predicate, in {@link #DEFAULT_ORDER}.
+     */
+    public List<Item> filter(Predicate<Item> predicate) {
+        List<Item> matches = new ArrayList<>();
+        for (Item item : findAll()) {
+            if (predicate.test(item)) {
+                matches.add(item);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Items in one category. Cached items share the dictionary's String for
+     * their category, so this compares references rather than characters.
+     */
+    public List<Item> findByCategory(String category) {
+        if (!isCacheable()) {
+            return itemDAO.findByCategory(category);
+        }
+        String shared = itemDAO.getCategories().intern(category);
+        return filter(item -> item.getCategory() == shared);
+    }
+
+    /**
+     * Number of items per category, counted from memory when cached.
+     */
+    public Map<String, Integer> countByCategory() {
+        if (!isCacheable()) {
+            return itemDAO.countByCategory();
+        }
+        // Identity map: one shared key per category, no string hashing
+        Map<String, Integer> counts = new IdentityHashMap<>();
+        for (Item item : findAll()) {
+            if (item.getCategory() != null) {
+                counts.merge(item.getCategory(), 1, Integer::sum);
+            }
+        }
+        return new HashMap<>(counts);
+    }
+
+    /**
+     * Items expiring between today and {@code days} days from now, inclusive, soonest first.
+     */
+    public synchronized List<Item> findExpiringWithinDays(int days) {
+        if (!isCacheable()) {
+            return itemDAO.findExpiringWithinDays(days);
+        }
+        ensureLoaded();
+        long today = DayClock.get().todayEpochDay();
+        return expiryIndex.expiringBetween(today, today + days);
+    }
+
+    /**
+     * Items whose expiry date is before today, oldest first.
+     */
+    public synchronized List<Item> findExpired() {
+        if (!isCacheable()) {
+            return itemDAO.findExpired();
+        }
+        ensureLoaded();
+        return expiryIndex.expiredBefore(DayClock.get().todayEpochDay());
+    }
+
+    /**
+     * The item expiring soonest from today on, or null if there is none.
+     */
+    public Item findNextExpiring() {
+        return findNextExpiring(DayClock.get().todayEpochDay());
+    }
+
+    /**
+     * The item expiring soonest on or after the given epoch day, or null if there is none.
+     */
+    public synchronized Item findNextExpiring(long fromEpochDay) {
+        if (!isCacheable()) {
+            return itemDAO.findNextExpiring(fromEpochDay);
+        }
+        ensureLoaded();
+        return expiryIndex.nextExpiringFrom(fromEpochDay);
+    }
+
+    public synchronized int countExpiringWithinDays(int days) {
+        long today = DayClock.get().todayEpochDay();
+        if (!isCacheable()) {
+            return itemDAO.countExpiringBetween(today, today + days);
+        }
+        ensureLoaded();
+        return expiryIndex.countExpiringBetween(today, today + days);
+    }
+
+    public synchronized int countExpired() {
+        long today = DayClock.get().todayEpochDay();
+        if (!isCacheable()) {
+            return itemDAO.countExpiringBetween(Long.MIN_VALUE, today - 1);
+        }
+        ensureLoaded();
+        return expiryIndex.countExpiredBefore(today);
+    }
+
+    /**
+     * Update the cached items' expiry status after a date change
+     * (see {@link ExpiryStatus#rebucket}).
+     * @return number of items whose status changed
+     */
+    public synchronized int rebucketExpiryStatus(long previousEpochDay, long todayEpochDay) {
+        if (!loaded) {
+            return 0;
+        }
+        return ExpiryStatus.rebucket(itemsById.values(), previousEpochDay, todayEpochDay);
+    }
+
+    /**
+     * Full-text search. Ranking comes from the database index; the matching
+     * rows are returned as the cached instances. A keyword with no searchable
+     * words (e.g. a cleared search box) lists every item from the cache.
+     */
+    public List<Item> search(String keyword) {
+        if (ItemDAO.toMatchQuery(keyword) == null) {
+            return findAll();
+        }
+        List<Item> found = itemDAO.search(keyword);
+        synchronized (this) {
+            if (!isCacheable()) {
+                return found;
+            }
+            ensureLoaded();
+            List<Item> result = new ArrayList<>(found.size());
+            for (Item item : found) {
+                Item cached = itemsById.get(item.getId());
+                result.add(cached != null ? cached : item);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Drop the cache; the next read reloads the whole table.
+     */
+    public synchronized void invalidate() {
+        itemsById.clear();
+        expiryIndex.clear();
+        sortedSnapshot = null;
+        loaded = false;
+        cacheable = null;
+        fireChanged();
+    }
+
+    /**
+     * Whether the table is small enough to hold in memory. Decided by a row
+     * count on first use and re-checked after {@link #invalidate()}.
+     */
+    public synchronized boolean isCacheable() {
+        if (cacheable == null) {
+            cacheable = itemDAO.count() <= maxCachedItems;
+        }
+        return cacheable;
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    private void refresh(int id) {
+        Item fresh = itemDAO.findById(id);
+        if (fresh != null) {
+            itemsById.put(id, fresh);
+            expiryIndex.update(fresh);
+        } else {
+            itemsById.remove(id);
+            expiryIndex.remove(id);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (Item item : itemDAO.findAll()) {
+            itemsById.put(item.getId(), item);
+            expiryIndex.add(item);
+        }
+        loaded = true;
+        System.out.printf("Item cache loaded %d items in %d ms%n",
+                itemsById.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,341 @@
+package com.expirytracker.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Brings the database schema up to date, tracking the applied version in
+ * {@code PRAGMA user_version}. To change the schema, append a new
+ * {@link Migration} to {@link #MIGRATIONS} with the next version number;
+ * never edit one that has already shipped.
+ */
+public class SchemaMigrator {
+
+    /**
+     * One schema step. All statements run in a single transaction together
+     * with the user_version bump, so a step is either fully applied or not at all.
+     */
+    public static class Migration {
+        private final int version;
+        private final String description;
+        private final String[] statements;
+
+        public Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    static final List<Migration> MIGRATIONS = List.of(
+        // Version 1: the original table. IF NOT EXISTS adopts databases created
+        // before migrations were tracked (user_version 0).
+        new Migration(1, "Create items table", """
+            CREATE TABLE IF NOT EXISTS items (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT NOT NULL,
+                category TEXT,
+                purchase_date TEXT,
+                expiry_date TEXT,
+                quantity INTEGER DEFAULT 1,
+                notes TEXT,
+                image_path TEXT
+            )
+        """),
+
+        new Migration(2, "Index expiry_date and name",
+            "CREATE INDEX IF NOT EXISTS idx_items_expiry_date ON items(expiry_date)",
+            "CREATE INDEX IF NOT EXISTS idx_items_name ON items(name COLLATE NOCASE)",
+            "ANALYZE"),
+
+        // Version 3: full-text index over name, category and notes. The FTS table
+        // stores only the index (external content); triggers keep it in sync.
+        new Migration(3, "Full-text search index",
+            """
+            CREATE VIRTUAL TABLE IF NOT EXISTS items_fts USING fts5(
+                name, category, notes,
+                content='items', content_rowid='id',
+                tokenize='unicode61 remove_diacritics 2'
+            )
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS items_fts_insert AFTER INSERT ON items BEGIN
+                INSERT INTO items_fts(rowid, name, category, notes)
+                VALUES (new.id, new.name, new.category, new.notes);
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS items_fts_delete AFTER DELETE ON items BEGIN
+                INSERT INTO items_fts(items_fts, rowid, name, category, notes)
+                VALUES ('delete', old.id, old.name, old.category, old.notes);
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS items_fts_update AFTER UPDATE OF name, category, notes ON items BEGIN
+                INSERT INTO items_fts(items_fts, rowid, name, category, notes)
+                VALUES ('delete', old.id, old.name, old.category, old.notes);
+                INSERT INTO items_fts(rowid, name, category, notes)
+                VALUES (new.id, new.name, new.category, new.notes);
+            END
+            """,
+            "INSERT INTO items_fts(items_fts) VALUES ('rebuild')"),
+
+        // Version 4: let paged table views sort by any column without a full sort per page
+        new Migration(4, "Index category and quantity",
+            "CREATE INDEX IF NOT EXISTS idx_items_category ON items(category COLLATE NOCASE)",
+            "CREATE INDEX IF NOT EXISTS idx_items_quantity ON items(quantity)",
+            "ANALYZE"),
+
+        // Version 5: categories move to their own table, referenced by an integer id.
+        // The FTS index and its triggers read the old column, so they are dropped
+        // first and rebuilt over a view that joins the category name back in.
+        new Migration(5, "Normalize categories",
+            """
+            CREATE TABLE categories (
+                id INTEGER PRIMARY KEY,
+                name TEXT NOT NULL UNIQUE COLLATE NOCASE
+            )
+            """,
+            """
+            INSERT INTO categories (name) VALUES
+                ('Dairy & Eggs'), ('Meat & Poultry'), ('Seafood'), ('Vegetables'), ('Fruits'),
+                ('Bread & Bakery'), ('Grains & Cereals'), ('Canned Goods'), ('Frozen Foods'),
+                ('Beverages'), ('Snacks & Sweets'), ('Condiments & Sauces'), ('Baby Food'),
+                ('Pet Food'), ('Supplements & Vitamins')
+            """,
+            """
+            INSERT OR IGNORE INTO categories (name)
+            SELECT DISTINCT trim(category) FROM items WHERE trim(category) <> '' ORDER BY 1
+            """,
+            "DROP TRIGGER items_fts_insert",
+            "DROP TRIGGER items_fts_delete",
+            "DROP TRIGGER items_fts_update",
+            "DROP TABLE items_fts",
+            "DROP INDEX idx_items_category",
+            "ALTER TABLE items ADD COLUMN category_id INTEGER REFERENCES categories(id)",
+            "UPDATE items SET category_id = (SELECT id FROM categories WHERE name = trim(items.category))",
+            "ALTER TABLE items DROP COLUMN category",
+            "CREATE INDEX idx_items_category ON items(category_id)",
+            """
+            CREATE VIEW items_search AS
+            SELECT items.id AS id, items.name AS name, categories.name AS category, items.notes AS notes
+            FROM items LEFT JOIN categories ON categories.id = items.category_id
+            """,
+            """
+            CREATE VIRTUAL TABLE items_fts USING fts5(
+                name, category, notes,
+                content='items_search', content_rowid='id',
+                tokenize='unicode61 remove_diacritics 2'
+            )
+            """,
+            """
+            CREATE TRIGGER items_fts_insert AFTER INSERT ON items BEGIN
+                INSERT INTO items_fts(rowid, name, category, notes)
+                VALUES (new.id, new.name, (SELECT name FROM categories WHERE id = new.category_id), new.notes);
+            END
+            """,
+            """
+            CREATE TRIGGER items_fts_delete AFTER DELETE ON items BEGIN
+                INSERT INTO items_fts(items_fts, rowid, name, category, notes)
+                VALUES ('delete', old.id, old.name, (SELECT name FROM categories WHERE id = old.category_id), old.notes);
+            END
+            """,
+            """
+            CREATE TRIGGER items_fts_update AFTER UPDATE OF name, category_id, notes ON items BEGIN
+                INSERT INTO items_fts(items_fts, rowid, name, category, notes)
+                VALUES ('delete', old.id, old.name, (SELECT name FROM categories WHERE id = old.category_id), old.notes);
+                INSERT INTO items_fts(rowid, name, category, notes)
+                VALUES (new.id, new.name, (SELECT name FROM categories WHERE id = new.category_id), new.notes);
+            END
+            """,
+            "INSERT INTO items_fts(items_fts) VALUES ('rebuild')",
+            "ANALYZE"),
+
+        // Version 6: dates become INTEGER epoch days so rows map without text parsing.
+        // Column affinity can't be changed in place, so the table is rebuilt. Row ids
+        // don't change, so the FTS index stays valid; only the view and triggers that
+        // depend on the table are recreated.
+        new Migration(6, "Store dates as epoch days",
+            "DROP TRIGGER items_fts_insert",
+            "DROP TRIGGER items_fts_delete",
+            "DROP TRIGGER items_fts_update",
+            "DROP VIEW items_search",
+            """
+            CREATE TABLE items_new (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT NOT NULL,
+                category_id INTEGER REFERENCES categories(id),
+                purchase_date INTEGER,
+                expiry_date INTEGER,
+                quantity INTEGER DEFAULT 1,
+                notes TEXT,
+                image_path TEXT
+            )
+            """,
+            """
+            INSERT INTO items_new (id, name, category_id, purchase_date, expiry_date, quantity, notes, image_path)
+            SELECT id, name, category_id,
+                   CAST(julianday(purchase_date) - 2440587.5 AS INTEGER),
+                   CAST(julianday(expiry_date) - 2440587.5 AS INTEGER),
+                   quantity, notes, image_path
+            FROM items
+            """,
+            // Keep the AUTOINCREMENT high-water mark so deleted ids are never reused
+            "DELETE FROM sqlite_sequence WHERE name = 'items_new'",
+            "INSERT INTO sqlite_sequence (name, seq) SELECT 'items_new', seq FROM sqlite_sequence WHERE name = 'items'",
+            "DROP TABLE items",
+            "ALTER TABLE items_new RENAME TO items",
+            "CREATE INDEX idx_items_expiry_date ON items(expiry_date)",
+            "CREATE INDEX idx_items_name ON items(name COLLATE NOCASE)",
+            "CREATE INDEX idx_items_category ON items(category_id)",
+            "CREATE INDEX idx_items_quantity ON items(quantity)",
+            """
+            CREATE VIEW items_search AS
+            SELECT items.id AS id, items.name AS name, categories.name AS category, items.notes AS notes
+            FROM items LEFT JOIN categories ON categories.id = items.category_id
+            """,
+            """
+            CREATE TRIGGER items_fts_insert AFTER INSERT ON items BEGIN
+                INSERT INTO items_fts(rowid, name, category, notes)
+                VALUES (new.id, new.name, (SELECT name FROM categories WHERE id = new.category_id), new.notes);
+            END
+            """,
+            """
+            CREATE TRIGGER items_fts_delete AFTER DELETE ON items BEGIN
+                INSERT INTO items_fts(items_fts, rowid, name, category, notes)
+                VALUES ('delete', old.id, old.name, (SELECT name FROM categories WHERE id = old.category_id), old.notes);
+            END
+            """,
+            """
+            CREATE TRIGGER items_fts_update AFTER UPDATE OF name, category_id, notes ON items BEGIN
+                INSERT INTO items_fts(items_fts, rowid, name, category, notes)
+                VALUES ('delete', old.id, old.name, (SELECT name FROM categories WHERE id = old.category_id), old.notes);
+                INSERT INTO items_fts(rowid, name, category, notes)
+                VALUES (new.id, new.name, (SELECT name FROM categories WHERE id = new.category_id), new.notes);
+            END
+            """,
+            "ANALYZE")
+    );
+
+    /**
+     * A query that is expected to be served by a particular index.
+     */
+    static class PlanCheck {
+        final String sql;
+        final String expectedIndex;
+
+        PlanCheck(String sql, String expectedIndex) {
+            this.sql = sql;
+            this.expectedIndex = expectedIndex;
+        }
+    }
+
+    static final List<PlanCheck> PLAN_CHECKS = List.of(
+        new PlanCheck(ItemDAO.FIND_ALL_SQL, "idx_items_expiry_date"),
+        new PlanCheck(ItemDAO.FIND_EXPIRING_SQL, "idx_items_expiry_date"),
+        new PlanCheck(ItemDAO.FIND_EXPIRED_SQL, "idx_items_expiry_date"),
+        new PlanCheck(ItemDAO.FIND_NEXT_EXPIRING_SQL, "idx_items_expiry_date")
+    );
+
+    private SchemaMigrator() {
+    }
+
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    /**
+     * Apply every migration newer than the database's user_version.
+     * @return the schema version after migrating
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        int current = getUserVersion(conn);
+        if (current > latestVersion()) {
+            System.err.println("WARNING: database schema version " + current
+                    + " is newer than this application supports (" + latestVersion() + ")");
+            return current;
+        }
+
+        for (Migration migration : MIGRATIONS) {
+            if (migration.getVersion() <= current) {
+                continue;
+            }
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : migration.statements) {
+                    stmt.execute(sql);
+                }
+                stmt.execute("PRAGMA user_version = " + migration.getVersion());
+                conn.commit();
+                current = migration.getVersion();
+                System.out.println("Applied schema migration " + current + ": " + migration.getDescription());
+            } catch (SQLException e) {
+                conn.rollback();
+                throw new SQLException("Schema migration " + migration.getVersion() + " ("
+                        + migration.getDescription() + ") failed: " + e.getMessage(), e);
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return current;
+    }
+
+    public static int getUserVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Run EXPLAIN QUERY PLAN for the hot queries and warn about any that
+     * would fall back to a full table scan.
+     * @return descriptions of the queries not using their expected index (empty if all good)
+     */
+    public static List<String> verifyQueryPlans(Connection conn) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        for (PlanCheck check : PLAN_CHECKS) {
+            String plan = explain(conn, check.sql);
+            if (!plan.contains(check.expectedIndex)) {
+                String problem = "Query not using " + check.expectedIndex + ": "
+                        + check.sql.strip().replaceAll("\\s+", " ") + " -> " + plan;
+                System.err.println("WARNING: " + problem);
+                problems.add(problem);
+            }
+        }
+        return problems;
+    }
+
+    private static String explain(Connection conn, String sql) throws SQLException {
+        // EXPLAIN needs values for the placeholders; NULL is enough for planning
+        int params = (int) sql.chars().filter(c -> c == '?').count();
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            for (int i = 1; i <= params; i++) {
+                pstmt.setNull(i, Types.NULL);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (plan.length() > 0) plan.append("; ");
+                    plan.append(rs.getString("detail"));
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
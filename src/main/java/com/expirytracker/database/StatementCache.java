@@ -0,0 +1,107 @@
+package com.expirytracker.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of compiled statements for one connection.
+ * Not thread-safe: a connection (and therefore its cache) is only used
+ * by one thread at a time while borrowed from {@link DatabaseManager}.
+ */
+public class StatementCache {
+
+    /**
+     * Hit/miss counters shared by all caches of a DatabaseManager.
+     */
+    public static class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getEvictions() {
+            return evictions.sum();
+        }
+
+        public double getHitRate() {
+            long total = getHits() + getMisses();
+            return total == 0 ? 0.0 : (double) getHits() / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("StatementCache{hits=%d, misses=%d, evictions=%d, hitRate=%.1f%%}",
+                    getHits(), getMisses(), getEvictions(), getHitRate() * 100);
+        }
+    }
+
+    private final Connection connection;
+    private final Stats stats;
+    private final Map<String, PreparedStatement> statements;
+
+    StatementCache(Connection connection, int capacity, Stats stats) {
+        this.connection = connection;
+        this.stats = stats;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > capacity) {
+                    closeQuietly(eldest.getValue());
+                    stats.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Return a compiled statement for the SQL, preparing it on first use.
+     * Callers must not close the returned statement.
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement pstmt = statements.get(sql);
+        if (pstmt != null && !pstmt.isClosed()) {
+            stats.hits.increment();
+            pstmt.clearParameters();
+            return pstmt;
+        }
+        stats.misses.increment();
+        pstmt = connection.prepareStatement(sql);
+        statements.put(sql, pstmt);
+        return pstmt;
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    /**
+     * Close every cached statement.
+     */
+    void clear() {
+        for (PreparedStatement pstmt : statements.values()) {
+            closeQuietly(pstmt);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement pstmt) {
+        try {
+            pstmt.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+}
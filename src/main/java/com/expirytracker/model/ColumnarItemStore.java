@@ -0,0 +1,225 @@
+package com.expirytracker.model;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, append-only store for large numbers of items, laid out as
+ * primitive columns instead of one {@link Item} object per row:
+ * <ul>
+ *   <li>ids, quantities and dates (as epoch days) in int arrays</li>
+ *   <li>categories dictionary-encoded as an int code per row</li>
+ *   <li>names, notes and image paths as UTF-8 byte arenas</li>
+ * </ul>
+ * A million typical items take about 42 MB instead of about 148 MB as a
+ * {@code List<Item>} (see ItemStoreHeapBenchmark). Aggregations such as
+ * {@link #countExpiringBetween} run over the int columns without creating
+ * objects; {@link #get} and {@link #asList()} build {@link Item}s on demand
+ * for code that needs them.
+ * Not thread-safe.
+ */
+public class ColumnarItemStore {
+
+    /** Marker in the date columns for "no date". */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private int[] ids;
+    private int[] quantities;
+    private int[] purchaseDays;
+    private int[] expiryDays;
+    private int[] categoryCodes;
+    private final StringColumn names;
+    private final StringColumn notes;
+    private final StringColumn imagePaths;
+
+    // Category dictionary; code -1 is a null category
+    private final List<String> categories = new ArrayList<>();
+    private final Map<String, Integer> categoryCodesByName = new HashMap<>();
+
+    private int size;
+
+    public ColumnarItemStore() {
+        this(1024);
+    }
+
+    public ColumnarItemStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        ids = new int[capacity];
+        quantities = new int[capacity];
+        purchaseDays = new int[capacity];
+        expiryDays = new int[capacity];
+        categoryCodes = new int[capacity];
+        names = new StringColumn(capacity);
+        notes = new StringColumn(capacity);
+        imagePaths = new StringColumn(capacity);
+    }
+
+    /**
+     * Append an item.
+     * @return its row number
+     */
+    public int add(Item item) {
+        if (size == ids.length) {
+            int capacity = ids.length + (ids.length >> 1) + 1;
+            ids = Arrays.copyOf(ids, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            purchaseDays = Arrays.copyOf(purchaseDays, capacity);
+            expiryDays = Arrays.copyOf(expiryDays, capacity);
+            categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+        }
+        int row = size++;
+        ids[row] = item.getId();
+        quantities[row] = item.getQuantity();
+        purchaseDays[row] = toEpochDay(item.getPurchaseDate());
+        expiryDays[row] = toEpochDay(item.getExpiryDate());
+        categoryCodes[row] = encodeCategory(item.getCategory());
+        names.add(item.getName());
+        notes.add(item.getNotes());
+        imagePaths.add(item.getImagePath());
+        return row;
+    }
+
+    public void addAll(Collection<Item> items) {
+        for (Item item : items) {
+            add(item);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getId(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+
+    public int getQuantity(int row) {
+        checkRow(row);
+        return quantities[row];
+    }
+
+    /**
+     * Expiry date as an epoch day, or {@link #NO_DATE}.
+     */
+    public int getExpiryEpochDay(int row) {
+        checkRow(row);
+        return expiryDays[row];
+    }
+
+    public String getName(int row) {
+        checkRow(row);
+        return names.get(row);
+    }
+
+    public String getCategory(int row) {
+        checkRow(row);
+        int code = categoryCodes[row];
+        return code < 0 ? null : categories.get(code);
+    }
+
+    /**
+     * Number of distinct categories in the dictionary.
+     */
+    public int getCategoryCount() {
+        return categories.size();
+    }
+
+    /**
+     * Materialize a row as a new {@link Item}.
+     */
+    public Item get(int row) {
+        checkRow(row);
+        Item item = new Item(names.get(row), getCategory(row), fromEpochDay(purchaseDays[row]),
+                fromEpochDay(expiryDays[row]), quantities[row], notes.get(row), imagePaths.get(row));
+        item.setId(ids[row]);
+        return item;
+    }
+
+    /**
+     * Read-only list view; each {@code get} builds a fresh {@link Item}, so
+     * only the rows actually looked at (e.g. visible table rows) cost objects.
+     */
+    public List<Item> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Item get(int index) {
+                return ColumnarItemStore.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Count items expiring between two epoch days, inclusive, without creating any objects.
+     */
+    public int countExpiringBetween(long fromEpochDay, long toEpochDay) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int day = expiryDays[i];
+            if (day != NO_DATE && day >= fromEpochDay && day <= toEpochDay) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Release unused capacity once loading is finished.
+     */
+    public void trimToSize() {
+        ids = Arrays.copyOf(ids, size);
+        quantities = Arrays.copyOf(quantities, size);
+        purchaseDays = Arrays.copyOf(purchaseDays, size);
+        expiryDays = Arrays.copyOf(expiryDays, size);
+        categoryCodes = Arrays.copyOf(categoryCodes, size);
+        names.trimToSize();
+        notes.trimToSize();
+        imagePaths.trimToSize();
+    }
+
+    /**
+     * Approximate heap used by the columns (excluding the small category dictionary).
+     */
+    public long estimatedBytes() {
+        long intColumns = 5 * (16L + 4L * ids.length);
+        return intColumns + names.estimatedBytes() + notes.estimatedBytes() + imagePaths.estimatedBytes();
+    }
+
+    private int encodeCategory(String category) {
+        if (category == null) {
+            return -1;
+        }
+        Integer code = categoryCodesByName.get(category);
+        if (code == null) {
+            code = categories.size();
+            categories.add(category);
+            categoryCodesByName.put(category, code);
+        }
+        return code;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private static LocalDate fromEpochDay(int day) {
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+}
@@ -0,0 +1,203 @@
+package com.expirytracker.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Items ordered by expiry date, keyed by epoch day. Finding the first day of
+ * a range is a tree lookup, so "expiring within N days", "expired" and "next
+ * to expire" cost O(log n) plus the size of the answer, instead of a scan
+ * or a database query. Within a day items are ordered by id, so ranges come
+ * out in the same order as the DAO's expiry queries. Items without an expiry
+ * date are not indexed.
+ * <p>
+ * Counts come from a Fenwick tree of items per day over a window of epoch
+ * days, so a range count is O(log days) however many days it spans. The
+ * window grows to cover new dates up to {@link #MAX_WINDOW_DAYS}; the rare
+ * dates beyond it (typos such as year 2202) are counted from the tree map.
+ * <p>
+ * Items are located by id on removal, so an item whose date was changed in
+ * place can still be moved with {@link #update}. Not thread-safe.
+ */
+public class ExpiryIndex {
+
+    private final NavigableMap<Long, NavigableMap<Integer, Item>> itemsByDay = new TreeMap<>();
+    private final Map<Integer, Long> dayById = new HashMap<>();
+
+    /** Largest span of days the count tree covers (about 180 years, 256 KB). */
+    static final int MAX_WINDOW_DAYS = 1 << 16;
+    private static final int INITIAL_WINDOW_DAYS = 1 << 12;
+
+    // Fenwick tree of item counts per day in [windowStart, windowStart + counts.length - 1), 1-based
+    private long windowStart;
+    private int[] counts;
+
+    public void add(Item item) {
+        if (item.getExpiryDate() == null) {
+            return;
+        }
+        long day = item.getExpiryDate().toEpochDay();
+        if (itemsByDay.computeIfAbsent(day, d -> new TreeMap<>()).put(item.getId(), item) != null) {
+            return; // already indexed on this day
+        }
+        dayById.put(item.getId(), day);
+        if (inWindow(day)) {
+            addCount(day, 1);
+        } else {
+            growWindow(day); // counts the new item if the window now covers its day
+        }
+    }
+
+    public void remove(int id) {
+        Long day = dayById.remove(id);
+        if (day == null) {
+            return;
+        }
+        NavigableMap<Integer, Item> items = itemsByDay.get(day);
+        items.remove(id);
+        if (items.isEmpty()) {
+            itemsByDay.remove(day);
+        }
+        if (inWindow(day)) {
+            addCount(day, -1);
+        }
+    }
+
+    /**
+     * Re-index an item after its expiry date may have changed.
+     */
+    public void update(Item item) {
+        remove(item.getId());
+        add(item);
+    }
+
+    public void clear() {
+        itemsByDay.clear();
+        dayById.clear();
+        counts = null;
+    }
+
+    /**
+     * Number of indexed items (those with an expiry date).
+     */
+    public int size() {
+        return dayById.size();
+    }
+
+    /**
+     * Items expiring between two epoch days, inclusive, soonest first.
+     */
+    public List<Item> expiringBetween(long fromEpochDay, long toEpochDay) {
+        List<Item> result = new ArrayList<>();
+        if (fromEpochDay <= toEpochDay) {
+            for (NavigableMap<Integer, Item> items : itemsByDay.subMap(fromEpochDay, true, toEpochDay, true).values()) {
+                result.addAll(items.values());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Items that expired before the given day, oldest first.
+     */
+    public List<Item> expiredBefore(long epochDay) {
+        List<Item> result = new ArrayList<>();
+        for (NavigableMap<Integer, Item> items : itemsByDay.headMap(epochDay, false).values()) {
+            result.addAll(items.values());
+        }
+        return result;
+    }
+
+    public int countExpiringBetween(long fromEpochDay, long toEpochDay) {
+        if (fromEpochDay > toEpochDay) {
+            return 0;
+        }
+        if (counts == null) {
+            return countByWalking(fromEpochDay, toEpochDay);
+        }
+        long windowEnd = windowStart + counts.length - 1; // exclusive
+        long from = Math.max(fromEpochDay, windowStart);
+        long to = Math.min(toEpochDay, windowEnd - 1);
+        int count = from <= to ? prefixCount(to + 1) - prefixCount(from) : 0;
+        // Days outside the window
+        count += countByWalking(fromEpochDay, Math.min(toEpochDay, windowStart - 1));
+        count += countByWalking(Math.max(fromEpochDay, windowEnd), toEpochDay);
+        return count;
+    }
+
+    public int countExpiredBefore(long epochDay) {
+        return countExpiringBetween(Long.MIN_VALUE, epochDay - 1);
+    }
+
+    /**
+     * The first item expiring on or after the given day, or null if none.
+     */
+    public Item nextExpiringFrom(long epochDay) {
+        Map.Entry<Long, NavigableMap<Integer, Item>> entry = itemsByDay.ceilingEntry(epochDay);
+        return entry == null ? null : entry.getValue().firstEntry().getValue();
+    }
+
+    private boolean inWindow(long day) {
+        return counts != null && day >= windowStart && day < windowStart + counts.length - 1;
+    }
+
+    /**
+     * Widen the window to include a day if that keeps it within {@link #MAX_WINDOW_DAYS},
+     * and rebuild the counts for it.
+     */
+    private void growWindow(long day) {
+        long start;
+        long end;
+        if (counts == null) {
+            start = day - INITIAL_WINDOW_DAYS / 2;
+            end = start + INITIAL_WINDOW_DAYS;
+        } else {
+            long oldEnd = windowStart + counts.length - 1;
+            long needed = Math.max(oldEnd, day + 1) - Math.min(windowStart, day);
+            if (needed > MAX_WINDOW_DAYS) {
+                return;
+            }
+            // Double so a steadily widening range rebuilds only log times
+            long size = Math.min(MAX_WINDOW_DAYS, Math.max(needed, 2L * (counts.length - 1)));
+            start = day < windowStart ? oldEnd - size : windowStart;
+            end = start + size;
+        }
+        windowStart = start;
+        counts = new int[(int) (end - start) + 1];
+        for (Map.Entry<Long, NavigableMap<Integer, Item>> entry : itemsByDay.subMap(start, true, end, false).entrySet()) {
+            addCount(entry.getKey(), entry.getValue().size());
+        }
+    }
+
+    private void addCount(long day, int delta) {
+        for (int i = (int) (day - windowStart) + 1; i < counts.length; i += i & -i) {
+            counts[i] += delta;
+        }
+    }
+
+    /**
+     * Number of items on window days before the given day.
+     */
+    private int prefixCount(long day) {
+        int count = 0;
+        for (int i = (int) (day - windowStart); i > 0; i -= i & -i) {
+            count += counts[i];
+        }
+        return count;
+    }
+
+    private int countByWalking(long fromEpochDay, long toEpochDay) {
+        if (fromEpochDay > toEpochDay) {
+            return 0;
+        }
+        int count = 0;
+        for (NavigableMap<Integer, Item> items : itemsByDay.subMap(fromEpochDay, true, toEpochDay, true).values()) {
+            count += items.size();
+        }
+        return count;
+    }
+}
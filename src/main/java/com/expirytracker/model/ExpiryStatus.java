@@ -0,0 +1,73 @@
+package com.expirytracker.model;
+
+import java.time.LocalDate;
+
+/**
+ * Expiry bucket of an item on a given day, used for the table's status
+ * column and row colours.
+ */
+public enum ExpiryStatus {
+    EXPIRED("red"),
+    EXPIRING_SOON("yellow"),
+    FRESH("green"),
+    NO_EXPIRY("green");
+
+    /** Items expiring within this many days (inclusive) are {@link #EXPIRING_SOON}. */
+    public static final int SOON_DAYS = 14;
+
+    private final String color;
+
+    ExpiryStatus(String color) {
+        this.color = color;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    /**
+     * Bucket for an expiry date as of the given day.
+     */
+    public static ExpiryStatus of(LocalDate expiryDate, long todayEpochDay) {
+        if (expiryDate == null) {
+            return NO_EXPIRY;
+        }
+        long days = expiryDate.toEpochDay() - todayEpochDay;
+        if (days < 0) {
+            return EXPIRED;
+        }
+        return days <= SOON_DAYS ? EXPIRING_SOON : FRESH;
+    }
+
+    /**
+     * Whether an item expiring on {@code expiryEpochDay} can change bucket
+     * when the date moves from {@code previousEpochDay} to {@code todayEpochDay}:
+     * it became expired, or it came within {@link #SOON_DAYS}.
+     */
+    public static boolean crossesThreshold(long expiryEpochDay, long previousEpochDay, long todayEpochDay) {
+        return (expiryEpochDay >= previousEpochDay && expiryEpochDay < todayEpochDay)
+                || (expiryEpochDay > previousEpochDay + SOON_DAYS && expiryEpochDay <= todayEpochDay + SOON_DAYS);
+    }
+
+    /**
+     * Bring the cached status of items up to date after the date moved from
+     * {@code previousEpochDay} to {@code todayEpochDay}. Only items that can
+     * have crossed a threshold are recomputed, unless the clock went backwards.
+     * @return number of items whose status changed
+     */
+    public static int rebucket(Iterable<Item> items, long previousEpochDay, long todayEpochDay) {
+        boolean all = todayEpochDay < previousEpochDay;
+        int changed = 0;
+        for (Item item : items) {
+            LocalDate expiry = item.getExpiryDate();
+            if (expiry == null) {
+                continue;
+            }
+            if ((all || crossesThreshold(expiry.toEpochDay(), previousEpochDay, todayEpochDay))
+                    && item.refreshExpiryStatus(todayEpochDay)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
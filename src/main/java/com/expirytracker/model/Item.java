@@ -1,7 +1,8 @@
 package com.expirytracker.model;
 
+import com.expirytracker.util.DayClock;
+
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 
 /**
  * Represents a household item with expiry tracking information.
@@ -15,6 +16,8 @@ public class Item {
     private int quantity;
     private String notes;
     private String imagePath;
+    // Cached so rendering a row is a field read; see refreshExpiryStatus
+    private ExpiryStatus expiryStatus = ExpiryStatus.NO_EXPIRY;
 
     // Constructors
     public Item() {
@@ -30,22 +33,52 @@ public class Item {
         this.quantity = quantity;
         this.notes = notes;
         this.imagePath = imagePath;
+        refreshExpiryStatus(DayClock.get().todayEpochDay());
     }
 
     /**
-     * Calculate days remaining until expiry.
+     * Calculate days remaining until expiry, as of today on the shared {@link DayClock}.
      * @return days to expiry (negative if expired, MAX_VALUE if no expiry set)
      */
     public long daysToExpiry() {
+        return daysToExpiry(DayClock.get().todayEpochDay());
+    }
+
+    /**
+     * Days remaining until expiry as of the given day.
+     */
+    public long daysToExpiry(long todayEpochDay) {
         if (expiryDate == null) return Long.MAX_VALUE;
-        return ChronoUnit.DAYS.between(LocalDate.now(), expiryDate);
+        return expiryDate.toEpochDay() - todayEpochDay;
     }
 
     /**
      * Check if item is expired.
      */
     public boolean isExpired() {
-        return expiryDate != null && expiryDate.isBefore(LocalDate.now());
+        return expiryDate != null && expiryDate.toEpochDay() < DayClock.get().todayEpochDay();
+    }
+
+    /**
+     * Expiry bucket as of the day it was last computed. Recomputed when the
+     * expiry date changes; after midnight the owner of the item must call
+     * {@link #refreshExpiryStatus} (see ExpiryStatusScheduler).
+     */
+    public ExpiryStatus getExpiryStatus() {
+        return expiryStatus;
+    }
+
+    /**
+     * Recompute the expiry bucket for the given day.
+     * @return true if the bucket changed
+     */
+    public boolean refreshExpiryStatus(long todayEpochDay) {
+        ExpiryStatus status = ExpiryStatus.of(expiryDate, todayEpochDay);
+        if (status == expiryStatus) {
+            return false;
+        }
+        expiryStatus = status;
+        return true;
     }
 
     /**
@@ -53,10 +86,7 @@ public class Item {
      * @return "red", "yellow", or "green"
      */
     public String getStatusColor() {
-        long days = daysToExpiry();
-        if (days < 0) return "red";
-        if (days <= 14) return "yellow";
-        return "green";
+        return expiryStatus.getColor();
     }
 
     // Getters and Setters
@@ -98,6 +128,7 @@ public class Item {
 
     public void setExpiryDate(LocalDate expiryDate) {
         this.expiryDate = expiryDate;
+        refreshExpiryStatus(DayClock.get().todayEpochDay());
     }
 
     public int getQuantity() {
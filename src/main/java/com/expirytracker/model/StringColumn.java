@@ -0,0 +1,61 @@
+package com.expirytracker.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Append-only column of strings stored back to back as UTF-8 in one byte
+ * array, with an offset per row. Avoids a String object and a byte[] header
+ * per value. Nulls are tracked separately so they round-trip distinct from "".
+ */
+class StringColumn {
+    private byte[] data;
+    private int[] offsets; // row i is data[offsets[i], offsets[i + 1])
+    private final BitSet nulls = new BitSet();
+    private int size;
+
+    StringColumn(int initialRows) {
+        this.data = new byte[Math.max(16, initialRows * 8)];
+        this.offsets = new int[initialRows + 1];
+    }
+
+    void add(String value) {
+        if (size + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, grow(offsets.length));
+        }
+        int end = offsets[size];
+        if (value == null) {
+            nulls.set(size);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (end + bytes.length > data.length) {
+                data = Arrays.copyOf(data, Math.max(grow(data.length), end + bytes.length));
+            }
+            System.arraycopy(bytes, 0, data, end, bytes.length);
+            end += bytes.length;
+        }
+        offsets[++size] = end;
+    }
+
+    String get(int row) {
+        if (nulls.get(row)) {
+            return null;
+        }
+        int start = offsets[row];
+        return new String(data, start, offsets[row + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    void trimToSize() {
+        data = Arrays.copyOf(data, offsets[size]);
+        offsets = Arrays.copyOf(offsets, size + 1);
+    }
+
+    long estimatedBytes() {
+        return 16L + data.length + 16L + 4L * offsets.length + nulls.size() / 8;
+    }
+
+    private static int grow(int length) {
+        return length + (length >> 1) + 1;
+    }
+}
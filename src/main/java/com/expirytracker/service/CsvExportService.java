@@ -0,0 +1,88 @@
+package com.expirytracker.service;
+
+import com.expirytracker.database.ItemDAO;
+import com.expirytracker.util.CsvUtil;
+import com.expirytracker.util.CsvWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the items table to CSV by streaming rows from a database cursor
+ * straight into a buffered writer. No Item objects or lists are built, so
+ * heap use does not grow with the table size.
+ */
+public class CsvExportService {
+
+    private static final int PROGRESS_EVERY_ROWS = 10_000;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final ItemDAO itemDAO;
+
+    public CsvExportService(ItemDAO itemDAO) {
+        this.itemDAO = itemDAO;
+    }
+
+    /**
+     * Export all items; the file is gzip-compressed if its name ends in ".gz".
+     */
+    public ExportProgress exportCsv(File file, Consumer<ExportProgress> listener) throws IOException, SQLException {
+        return exportCsv(file, file.getName().toLowerCase().endsWith(".gz"), listener);
+    }
+
+    /**
+     * Export all items.
+     * @param listener receives progress snapshots on the calling thread (may be null)
+     * @return final progress snapshot
+     */
+    public ExportProgress exportCsv(File file, boolean gzip, Consumer<ExportProgress> listener)
+            throws IOException, SQLException {
+        long start = System.nanoTime();
+        int totalRows = itemDAO.count();
+
+        OutputStream out = Files.newOutputStream(file.toPath());
+        if (gzip) {
+            out = new GZIPOutputStream(out, OUTPUT_BUFFER_SIZE);
+        }
+
+        long rows;
+        try (CsvWriter writer = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE)) {
+            CsvUtil.writeHeader(writer);
+            long[] written = {0};
+            rows = itemDAO.streamAll(row -> {
+                writer.field(row.getString(1))
+                      .field(row.getString(2));
+                writeEpochDay(writer, row, 3);
+                writeEpochDay(writer, row, 4);
+                writer.field(row.getInt(5))
+                      .field(row.getString(6))
+                      .field(row.getString(7))
+                      .endRecord();
+                if (++written[0] % PROGRESS_EVERY_ROWS == 0 && listener != null) {
+                    listener.accept(new ExportProgress(written[0], totalRows, System.nanoTime() - start, false));
+                }
+            });
+        }
+
+        ExportProgress result = new ExportProgress(rows, totalRows, System.nanoTime() - start, true);
+        System.out.println("Exported to " + file.getAbsolutePath() + ": " + result);
+        if (listener != null) {
+            listener.accept(result);
+        }
+        return result;
+    }
+
+    private static void writeEpochDay(CsvWriter writer, ResultSet row, int column) throws SQLException, IOException {
+        long epochDay = row.getLong(column);
+        if (row.wasNull()) {
+            writer.field((String) null);
+        } else {
+            writer.epochDayField(epochDay);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.expirytracker.service;
+
+import com.expirytracker.database.BulkInsertResult;
+import com.expirytracker.database.ItemDAO;
+import com.expirytracker.model.Item;
+import com.expirytracker.util.CsvUtil;
+import com.expirytracker.util.MappedCsvSplitter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams a CSV file into the database with bounded memory.
+ * The calling thread parses rows into a small bounded queue; a writer thread
+ * drains it and commits one transaction per chunk. When the database falls
+ * behind, the parser blocks on the full queue, so heap use stays constant
+ * no matter how large the file is. Very large files are instead memory-mapped
+ * and parsed on all cores.
+ */
+public class CsvImportService {
+
+    private static final int DEFAULT_CHUNK_SIZE = ItemDAO.DEFAULT_BATCH_SIZE;
+
+    /** Files at least this large are parsed in parallel from a memory-mapped file. */
+    public static final long PARALLEL_THRESHOLD_BYTES = 64L * 1024 * 1024;
+    private static final long PARALLEL_CHUNK_BYTES = 8L * 1024 * 1024;
+
+    // Marks the end of the stream for the writer thread
+    private static final Item END_OF_STREAM = new Item();
+
+    private final ItemDAO itemDAO;
+    private final int chunkSize;
+
+    public CsvImportService(ItemDAO itemDAO) {
+        this(itemDAO, DEFAULT_CHUNK_SIZE);
+    }
+
+    public CsvImportService(ItemDAO itemDAO, int chunkSize) {
+        this.itemDAO = itemDAO;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Import a CSV file, reporting progress after every committed chunk.
+     * Large plain files go through {@link #importCsvParallel}, the rest
+     * (including gzipped files) through {@link #importCsvStreaming}. Interrupting the calling thread cancels
+     * the import; chunks already committed stay in the database.
+     * @param listener receives progress snapshots (may be null)
+     * @return final progress snapshot
+     */
+    public ImportProgress importCsv(File file, Consumer<ImportProgress> listener)
+            throws IOException, InterruptedException {
+        if (file.length() >= PARALLEL_THRESHOLD_BYTES && !isGzip(file)) {
+            return importCsvParallel(file, listener);
+        }
+        return importCsvStreaming(file, listener);
+    }
+
+    /**
+     * Reader over the file, decompressing .gz; the file is closed again if the header is bad.
+     */
+    private static Reader openReader(File file, AtomicLong bytesRead) throws IOException {
+        InputStream in = new CountingInputStream(new FileInputStream(file), bytesRead);
+        try {
+            if (isGzip(file)) {
+                in = new GZIPInputStream(in, 64 * 1024); // progress still counts compressed bytes
+            }
+            return new InputStreamReader(in, StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static boolean isGzip(File file) {
+        return file.getName().toLowerCase().endsWith(".gz");
+    }
+
+    /**
+     * Single parser thread feeding a writer thread through a bounded queue.
+     * @param listener receives progress snapshots on the writer thread (may be null)
+     */
+    public ImportProgress importCsvStreaming(File file, Consumer<ImportProgress> listener)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        long totalBytes = file.length();
+        AtomicLong bytesRead = new AtomicLong();
+        AtomicLong rowsParsed = new AtomicLong();
+        AtomicLong rowsWritten = new AtomicLong();
+        AtomicLong rowsRejected = new AtomicLong();
+        AtomicReference<Throwable> writerError = new AtomicReference<>();
+
+        BlockingQueue<Item> queue = new ArrayBlockingQueue<>(chunkSize * 2);
+
+        Thread writer = new Thread(() -> {
+            List<Item> chunk = new ArrayList<>(chunkSize);
+            try {
+                boolean finished = false;
+                while (!finished) {
+                    chunk.add(queue.take());
+                    queue.drainTo(chunk, chunkSize - chunk.size());
+                    if (chunk.get(chunk.size() - 1) == END_OF_STREAM) {
+                        chunk.remove(chunk.size() - 1);
+                        finished = true;
+                    }
+                    if (!chunk.isEmpty()) {
+                        BulkInsertResult result = itemDAO.insertAll(chunk, chunk.size());
+                        rowsWritten.addAndGet(result.getInserted());
+                        rowsRejected.addAndGet(result.getFailed());
+                        chunk.clear();
+                    }
+                    if (listener != null && !finished) {
+                        listener.accept(new ImportProgress(bytesRead.get(), totalBytes, rowsParsed.get(),
+                                rowsWritten.get(), rowsRejected.get(), System.nanoTime() - start, false));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                writerError.set(t);
+            }
+        }, "CsvImportWriter");
+        writer.setDaemon(true);
+
+        // Open (and check the gzip header) before the writer starts, so a bad file strands nothing
+        try (Reader reader = openReader(file, bytesRead)) {
+            writer.start();
+            int rejected = CsvUtil.readItems(reader, item -> {
+                try {
+                    enqueue(queue, item, writer, writerError);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("CSV import cancelled");
+                }
+                rowsParsed.incrementAndGet();
+            });
+            rowsRejected.addAndGet(rejected);
+            enqueue(queue, END_OF_STREAM, writer, writerError);
+            writer.join();
+        } catch (CancellationException e) {
+            writer.interrupt();
+            throw new InterruptedException(e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new IOException("Failed to write imported rows", e.getCause() != null ? e.getCause() : e);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            writer.interrupt();
+            throw e;
+        }
+
+        if (writerError.get() != null) {
+            throw new IOException("Failed to write imported rows", writerError.get());
+        }
+
+        ImportProgress result = new ImportProgress(bytesRead.get(), totalBytes, rowsParsed.get(),
+                rowsWritten.get(), rowsRejected.get(), System.nanoTime() - start, true);
+        System.out.println("CSV import finished: " + result);
+        if (listener != null) {
+            listener.accept(result);
+        }
+        return result;
+    }
+
+    /**
+     * Memory-map the file, split it at record boundaries and parse the chunks
+     * on a fork-join pool. Parsed chunks are written strictly in file order
+     * while later chunks are still being parsed; only a window of
+     * parallelism + 1 chunks is held in memory at a time.
+     * @param listener receives progress snapshots on the calling thread (may be null)
+     */
+    public ImportProgress importCsvParallel(File file, Consumer<ImportProgress> listener)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long rowsParsed = 0;
+        long rowsWritten = 0;
+        long rowsRejected = 0;
+        long totalBytes;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            totalBytes = channel.size();
+            long[] offsets = MappedCsvSplitter.split(channel, PARALLEL_CHUNK_BYTES, pool);
+            int chunks = offsets.length - 1;
+            System.out.println("Parallel CSV import: " + chunks + " chunks on " + parallelism + " threads");
+
+            Deque<ForkJoinTask<ParsedChunk>> inFlight = new ArrayDeque<>();
+            int nextChunk = 0;
+            for (int i = 0; i < chunks; i++) {
+                while (nextChunk < chunks && inFlight.size() <= parallelism) {
+                    int index = nextChunk++;
+                    inFlight.add(pool.submit(() -> parseChunk(channel, offsets[index], offsets[index + 1], index == 0)));
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("CSV import cancelled");
+                }
+
+                ParsedChunk parsed = joinChunk(inFlight.poll());
+                BulkInsertResult result = itemDAO.insertAll(parsed.items, chunkSize);
+                rowsParsed += parsed.items.size();
+                rowsWritten += result.getInserted();
+                rowsRejected += parsed.rejected + result.getFailed();
+
+                if (listener != null && i < chunks - 1) {
+                    listener.accept(new ImportProgress(offsets[i + 1], totalBytes, rowsParsed,
+                            rowsWritten, rowsRejected, System.nanoTime() - start, false));
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        ImportProgress result = new ImportProgress(totalBytes, totalBytes, rowsParsed,
+                rowsWritten, rowsRejected, System.nanoTime() - start, true);
+        System.out.println("CSV import finished: " + result);
+        if (listener != null) {
+            listener.accept(result);
+        }
+        return result;
+    }
+
+    private static ParsedChunk parseChunk(FileChannel channel, long from, long to, boolean skipHeader) {
+        ParsedChunk chunk = new ParsedChunk();
+        ByteBuffer buffer = MappedCsvSplitter.map(channel, from, to - from);
+        try (Reader reader = new InputStreamReader(MappedCsvSplitter.asInputStream(buffer), StandardCharsets.UTF_8)) {
+            chunk.rejected = CsvUtil.readItems(reader, chunk.items::add, skipHeader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunk;
+    }
+
+    private static ParsedChunk joinChunk(ForkJoinTask<ParsedChunk> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Items parsed from one record-aligned chunk of the file.
+     */
+    private static class ParsedChunk {
+        final List<Item> items = new ArrayList<>();
+        int rejected;
+    }
+
+    /**
+     * Hand an item to the writer, blocking while the queue is full (backpressure).
+     * Gives up if the writer thread has died, instead of waiting forever.
+     */
+    private static void enqueue(BlockingQueue<Item> queue, Item item, Thread writer,
+                                AtomicReference<Throwable> writerError) throws InterruptedException {
+        while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+            if (!writer.isAlive()) {
+                throw new IllegalStateException("Database writer stopped", writerError.get());
+            }
+        }
+    }
+
+    /**
+     * Input stream that publishes how many bytes have been consumed.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(new BufferedInputStream(in, 64 * 1024));
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count.incrementAndGet();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count.addAndGet(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count.addAndGet(skipped);
+            return skipped;
+        }
+    }
+}
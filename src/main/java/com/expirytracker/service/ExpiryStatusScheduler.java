@@ -0,0 +1,96 @@
+package com.expirytracker.service;
+
+import com.expirytracker.util.DayClock;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells a listener when the local date changes, so cached expiry statuses can
+ * be re-bucketed once a day instead of being recomputed on every render.
+ * <p>
+ * Wakes at the next midnight according to the shared {@link DayClock}, but
+ * never sleeps longer than an hour, so a machine resumed from sleep or a
+ * changed system clock is noticed soon after.
+ */
+public class ExpiryStatusScheduler {
+
+    private static final long MAX_SLEEP_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Called on the scheduler thread when the date has changed.
+     */
+    public interface DayChangeListener {
+        void dayChanged(long previousEpochDay, long todayEpochDay);
+    }
+
+    private final DayChangeListener listener;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean running = false;
+    private long lastEpochDay; // only touched on the scheduler thread after start
+
+    public ExpiryStatusScheduler(DayChangeListener listener) {
+        this.listener = listener;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName("ExpiryStatusScheduler");
+            return thread;
+        });
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        lastEpochDay = DayClock.get().todayEpochDay();
+        scheduleNext();
+    }
+
+    /**
+     * Check the date now rather than waiting for the next wake-up.
+     */
+    public void checkNow() {
+        scheduler.execute(this::checkDate);
+    }
+
+    public synchronized void stop() {
+        if (running) {
+            running = false;
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void checkDate() {
+        try {
+            long today = DayClock.get().todayEpochDay();
+            if (today != lastEpochDay) {
+                long previous = lastEpochDay;
+                lastEpochDay = today;
+                System.out.println("Date changed, re-bucketing expiry status");
+                listener.dayChanged(previous, today);
+            }
+        } catch (Exception e) {
+            System.err.println("Error in expiry status check: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void scheduleNext() {
+        if (!running) {
+            return;
+        }
+        // A little past midnight so the DayClock has certainly rolled over
+        long delay = Math.min(DayClock.get().millisUntilTomorrow() + 50, MAX_SLEEP_MILLIS);
+        scheduler.schedule(() -> {
+            checkDate();
+            scheduleNext();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+}
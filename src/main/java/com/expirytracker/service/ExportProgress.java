@@ -0,0 +1,60 @@
+package com.expirytracker.service;
+
+/**
+ * Snapshot of a running (or finished) CSV export.
+ */
+public class ExportProgress {
+    private final long rowsWritten;
+    private final long totalRows;
+    private final long elapsedNanos;
+    private final boolean done;
+
+    public ExportProgress(long rowsWritten, long totalRows, long elapsedNanos, boolean done) {
+        this.rowsWritten = rowsWritten;
+        this.totalRows = totalRows;
+        this.elapsedNanos = elapsedNanos;
+        this.done = done;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Fraction of rows written, 0.0 - 1.0 (the total is counted before the export starts).
+     */
+    public double getFraction() {
+        if (done) return 1.0;
+        return totalRows <= 0 ? 0.0 : Math.min(1.0, (double) rowsWritten / totalRows);
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rowsWritten * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Short human-readable summary for the status bar.
+     */
+    public String toStatusText() {
+        return String.format("%s %,d items (%.0f%%, %.0f rows/s)",
+                done ? "Exported" : "Exporting...", rowsWritten, getFraction() * 100, getRowsPerSecond());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExportProgress{rows=%d/%d, elapsed=%d ms, done=%b}",
+                rowsWritten, totalRows, getElapsedMillis(), done);
+    }
+}
@@ -0,0 +1,487 @@
+package com.expirytracker.service;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cleans up a label photo before OCR. The stages run in this order:
+ * <ol>
+ *   <li>grayscale: luma from RGB, read straight from the raster for common layouts</li>
+ *   <li>downscale: area-average so the long side is at most {@code maxDimension}
+ *       (phone photos are far above the ~300 DPI Tesseract wants)</li>
+ *   <li>binarize: adaptive (local mean) threshold, robust to uneven lighting</li>
+ *   <li>deskew: the angle with the sharpest row profile, within ±{@value #MAX_SKEW_DEGREES}°</li>
+ *   <li>crop: to the bounding box of the text, plus a margin</li>
+ * </ol>
+ * The result is a black-on-white {@code TYPE_BYTE_GRAY} image. Work arrays are
+ * kept between calls, so one instance per thread avoids re-allocating them
+ * for every image. Not thread-safe.
+ */
+public class ImagePreprocessor {
+
+    public static final int DEFAULT_MAX_DIMENSION = 2000;
+
+    private static final double MAX_SKEW_DEGREES = 10.0;
+    private static final double SKEW_STEP_DEGREES = 0.5;
+    private static final double MIN_SKEW_DEGREES = 0.4; // smaller angles are left alone
+    private static final int MAX_SKEW_SAMPLES = 20_000;
+    private static final double THRESHOLD_FRACTION = 0.15;
+    private static final int CROP_MARGIN = 12;
+
+    private final int maxDimension;
+
+    // Reused between images
+    private int[] rowBuffer = new int[0];
+    private byte[] grayBuffer = new byte[0];
+    private byte[] scaledBuffer = new byte[0];
+    private int[] columnIndex = new int[0];
+    private float[] columnWeight = new float[0];
+    private float[] scaledRow = new float[0];
+    private float[] rowSums = new float[0];
+    private float[] nextRowSums = new float[0];
+    private long[] integral = new long[0];
+    private int[] sampleX = new int[0];
+    private int[] sampleY = new int[0];
+    private int[] profile = new int[0];
+
+    /**
+     * Preprocessed image with the time each stage took.
+     */
+    public static class Result {
+        private final BufferedImage image;
+        private final Map<String, Long> stageNanos;
+        private final double skewDegrees;
+
+        Result(BufferedImage image, Map<String, Long> stageNanos, double skewDegrees) {
+            this.image = image;
+            this.stageNanos = stageNanos;
+            this.skewDegrees = skewDegrees;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        /**
+         * Stage name to elapsed nanoseconds, in pipeline order.
+         */
+        public Map<String, Long> getStageNanos() {
+            return stageNanos;
+        }
+
+        public double getSkewDegrees() {
+            return skewDegrees;
+        }
+
+        public long getTotalNanos() {
+            long total = 0;
+            for (long nanos : stageNanos.values()) {
+                total += nanos;
+            }
+            return total;
+        }
+
+        /**
+         * e.g. "42 ms (grayscale 20, downscale 6, binarize 9, deskew 5, crop 2)"
+         */
+        public String toTimingText() {
+            StringBuilder text = new StringBuilder();
+            text.append(getTotalNanos() / 1_000_000).append(" ms (");
+            String separator = "";
+            for (Map.Entry<String, Long> stage : stageNanos.entrySet()) {
+                text.append(separator).append(stage.getKey()).append(' ').append(stage.getValue() / 1_000_000);
+                separator = ", ";
+            }
+            return text.append(')').toString();
+        }
+    }
+
+    public ImagePreprocessor() {
+        this(DEFAULT_MAX_DIMENSION);
+    }
+
+    public ImagePreprocessor(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public Result process(BufferedImage source) {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        int width = source.getWidth();
+        int height = source.getHeight();
+
+        long start = System.nanoTime();
+        byte[] gray = toGray(source);
+        long now = System.nanoTime();
+        timings.put("grayscale", now - start);
+
+        start = now;
+        int longSide = Math.max(width, height);
+        if (longSide > maxDimension) {
+            double scale = maxDimension / (double) longSide;
+            int outWidth = Math.max(1, (int) Math.round(width * scale));
+            int outHeight = Math.max(1, (int) Math.round(height * scale));
+            gray = downscale(gray, width, height, outWidth, outHeight);
+            width = outWidth;
+            height = outHeight;
+        }
+        now = System.nanoTime();
+        timings.put("downscale", now - start);
+
+        start = now;
+        BufferedImage binary = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] pixels = ((DataBufferByte) binary.getRaster().getDataBuffer()).getData();
+        binarize(gray, pixels, width, height);
+        now = System.nanoTime();
+        timings.put("binarize", now - start);
+
+        start = now;
+        double skew = estimateSkew(pixels, width, height);
+        if (Math.abs(skew) >= MIN_SKEW_DEGREES) {
+            binary = rotate(pixels, width, height, skew);
+            pixels = ((DataBufferByte) binary.getRaster().getDataBuffer()).getData();
+        }
+        now = System.nanoTime();
+        timings.put("deskew", now - start);
+
+        start = now;
+        binary = cropToText(binary, pixels);
+        timings.put("crop", System.nanoTime() - start);
+
+        return new Result(binary, timings, skew);
+    }
+
+    /**
+     * Luma of every pixel, into the reused gray buffer.
+     */
+    private byte[] toGray(BufferedImage source) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        grayBuffer = ensureCapacity(grayBuffer, width * height);
+        if (source.getType() == BufferedImage.TYPE_BYTE_GRAY
+                && source.getRaster().getDataBuffer().getSize() == width * height) {
+            byte[] data = ((DataBufferByte) source.getRaster().getDataBuffer()).getData();
+            System.arraycopy(data, 0, grayBuffer, 0, width * height);
+            return grayBuffer;
+        }
+        WritableRaster raster = source.getRaster();
+        boolean untranslated = raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0;
+        // Fast paths read the pixel arrays directly: decoded JPEGs are 3-byte BGR,
+        // PNGs usually byte RGB(A) or int RGB
+        if (untranslated && raster.getDataBuffer() instanceof DataBufferByte
+                && raster.getSampleModel() instanceof PixelInterleavedSampleModel && raster.getNumBands() >= 3) {
+            PixelInterleavedSampleModel model = (PixelInterleavedSampleModel) raster.getSampleModel();
+            byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+            int[] bands = model.getBandOffsets();
+            int pixelStride = model.getPixelStride();
+            int scanlineStride = model.getScanlineStride();
+            for (int y = 0; y < height; y++) {
+                int in = y * scanlineStride;
+                int offset = y * width;
+                for (int x = 0; x < width; x++, in += pixelStride) {
+                    grayBuffer[offset + x] = (byte) (((data[in + bands[0]] & 0xFF) * 77
+                            + (data[in + bands[1]] & 0xFF) * 150 + (data[in + bands[2]] & 0xFF) * 29) >> 8);
+                }
+            }
+            return grayBuffer;
+        }
+        if (untranslated && (source.getType() == BufferedImage.TYPE_INT_RGB || source.getType() == BufferedImage.TYPE_INT_ARGB)) {
+            int[] data = ((DataBufferInt) raster.getDataBuffer()).getData();
+            int scanlineStride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+            for (int y = 0; y < height; y++) {
+                int in = y * scanlineStride;
+                int offset = y * width;
+                for (int x = 0; x < width; x++) {
+                    grayBuffer[offset + x] = (byte) luma(data[in + x]);
+                }
+            }
+            return grayBuffer;
+        }
+
+        // Any other layout (indexed, 16-bit, ...) through the colour model
+        if (rowBuffer.length < width) {
+            rowBuffer = new int[width];
+        }
+        for (int y = 0; y < height; y++) {
+            source.getRGB(0, y, width, 1, rowBuffer, 0, width);
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                grayBuffer[offset + x] = (byte) luma(rowBuffer[x]);
+            }
+        }
+        return grayBuffer;
+    }
+
+    /**
+     * Area-averaging resample to any smaller size: each output pixel is the
+     * mean of the source area it covers, with source pixels on its edges
+     * counted by the fraction inside it. Rows are resampled horizontally one
+     * at a time and accumulated into at most two output rows, since a source
+     * pixel never overlaps more than two output pixels along an axis.
+     */
+    private byte[] downscale(byte[] gray, int width, int height, int outWidth, int outHeight) {
+        scaledBuffer = ensureCapacity(scaledBuffer, outWidth * outHeight);
+        if (columnIndex.length < width) {
+            columnIndex = new int[width];
+            columnWeight = new float[width];
+        }
+        if (scaledRow.length < outWidth) {
+            scaledRow = new float[outWidth];
+            rowSums = new float[outWidth];
+            nextRowSums = new float[outWidth];
+        }
+        double scaleX = width / (double) outWidth;
+        double scaleY = height / (double) outHeight;
+        // Output column of each source column, and the share of it that falls there
+        for (int x = 0; x < width; x++) {
+            int ox = Math.min(outWidth - 1, (int) (x / scaleX));
+            columnIndex[x] = ox;
+            columnWeight[x] = (float) Math.min(1.0, (ox + 1) * scaleX - x);
+        }
+        float norm = (float) (1.0 / (scaleX * scaleY));
+
+        float[] current = rowSums;
+        float[] next = nextRowSums;
+        Arrays.fill(current, 0, outWidth, 0f);
+        Arrays.fill(next, 0, outWidth, 0f);
+        int currentRow = 0;
+        for (int y = 0; y < height; y++) {
+            int oy = Math.min(outHeight - 1, (int) (y / scaleY));
+            while (currentRow < oy) {
+                emitRow(current, currentRow++, outWidth, norm);
+                float[] swap = current;
+                current = next;
+                next = swap;
+                Arrays.fill(next, 0, outWidth, 0f);
+            }
+
+            Arrays.fill(scaledRow, 0, outWidth, 0f);
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                float value = gray[offset + x] & 0xFF;
+                int ox = columnIndex[x];
+                float weight = columnWeight[x];
+                scaledRow[ox] += value * weight;
+                if (weight < 1f && ox + 1 < outWidth) {
+                    scaledRow[ox + 1] += value * (1f - weight);
+                }
+            }
+
+            float rowWeight = (float) Math.min(1.0, (oy + 1) * scaleY - y);
+            boolean splits = rowWeight < 1f && oy + 1 < outHeight;
+            for (int ox = 0; ox < outWidth; ox++) {
+                current[ox] += scaledRow[ox] * rowWeight;
+                if (splits) {
+                    next[ox] += scaledRow[ox] * (1f - rowWeight);
+                }
+            }
+        }
+        emitRow(current, currentRow, outWidth, norm);
+        return scaledBuffer;
+    }
+
+    private void emitRow(float[] sums, int row, int outWidth, float norm) {
+        int offset = row * outWidth;
+        for (int ox = 0; ox < outWidth; ox++) {
+            scaledBuffer[offset + ox] = (byte) Math.min(255, Math.round(sums[ox] * norm));
+        }
+    }
+
+    /**
+     * Bradley's adaptive threshold: a pixel is ink if it is darker than the
+     * mean of its neighbourhood by more than {@link #THRESHOLD_FRACTION}.
+     * Neighbourhood sums come from an integral image in O(1) each.
+     */
+    private void binarize(byte[] gray, byte[] out, int width, int height) {
+        int stride = width + 1;
+        integral = ensureCapacity(integral, stride * (height + 1));
+        Arrays.fill(integral, 0, stride, 0);
+        for (int y = 0; y < height; y++) {
+            long rowSum = 0;
+            int in = y * width;
+            int row = (y + 1) * stride;
+            integral[row] = 0;
+            for (int x = 0; x < width; x++) {
+                rowSum += gray[in + x] & 0xFF;
+                integral[row + x + 1] = integral[row - stride + x + 1] + rowSum;
+            }
+        }
+
+        int half = Math.max(4, Math.max(width, height) / 32);
+        for (int y = 0; y < height; y++) {
+            int y0 = Math.max(0, y - half);
+            int y1 = Math.min(height, y + half + 1);
+            for (int x = 0; x < width; x++) {
+                int x0 = Math.max(0, x - half);
+                int x1 = Math.min(width, x + half + 1);
+                long sum = integral[y1 * stride + x1] - integral[y0 * stride + x1]
+                        - integral[y1 * stride + x0] + integral[y0 * stride + x0];
+                long count = (long) (x1 - x0) * (y1 - y0);
+                int value = gray[y * width + x] & 0xFF;
+                boolean ink = value * count * 100 < sum * (100 - (long) (THRESHOLD_FRACTION * 100));
+                out[y * width + x] = ink ? 0 : (byte) 255;
+            }
+        }
+    }
+
+    /**
+     * Skew angle in degrees (positive = text rising to the right). Text lines
+     * give the sharpest horizontal projection profile when the image is
+     * rotated by the skew angle, so try each angle on a sample of ink pixels
+     * and keep the one with the largest profile variance.
+     */
+    private double estimateSkew(byte[] pixels, int width, int height) {
+        int inkCount = 0;
+        for (int i = 0; i < width * height; i++) {
+            if (pixels[i] == 0) {
+                inkCount++;
+            }
+        }
+        if (inkCount < 100) {
+            return 0;
+        }
+        int step = Math.max(1, inkCount / MAX_SKEW_SAMPLES);
+        int samples = inkCount / step + 1;
+        sampleX = ensureCapacity(sampleX, samples);
+        sampleY = ensureCapacity(sampleY, samples);
+        int[] xs = sampleX;
+        int[] ys = sampleY;
+        int n = 0;
+        int seen = 0;
+        for (int i = 0; i < width * height && n < samples; i++) {
+            if (pixels[i] == 0 && seen++ % step == 0) {
+                xs[n] = i % width;
+                ys[n] = i / width;
+                n++;
+            }
+        }
+
+        int diagonal = (int) Math.ceil(Math.hypot(width, height));
+        int rows = 2 * diagonal + 1;
+        profile = ensureCapacity(profile, rows);
+        double bestAngle = 0;
+        double bestScore = -1;
+        for (double angle = -MAX_SKEW_DEGREES; angle <= MAX_SKEW_DEGREES + 1e-9; angle += SKEW_STEP_DEGREES) {
+            double radians = Math.toRadians(angle);
+            double sin = Math.sin(radians);
+            double cos = Math.cos(radians);
+            Arrays.fill(profile, 0, rows, 0);
+            for (int i = 0; i < n; i++) {
+                int row = (int) Math.round(ys[i] * cos - xs[i] * sin) + diagonal;
+                profile[row]++;
+            }
+            double score = 0;
+            for (int row = 0; row < rows; row++) {
+                score += (double) profile[row] * profile[row];
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestAngle = angle;
+            }
+        }
+        return -bestAngle;
+    }
+
+    /**
+     * Rotate clockwise about the centre, which levels lines rising to the right
+     * by that angle (nearest neighbour, as the image is binary), filling with white.
+     */
+    private static BufferedImage rotate(byte[] pixels, int width, int height, double degrees) {
+        BufferedImage rotated = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] out = ((DataBufferByte) rotated.getRaster().getDataBuffer()).getData();
+        double radians = Math.toRadians(degrees);
+        double sin = Math.sin(radians);
+        double cos = Math.cos(radians);
+        double cx = width / 2.0;
+        double cy = height / 2.0;
+        for (int y = 0; y < height; y++) {
+            double dy = y - cy;
+            for (int x = 0; x < width; x++) {
+                double dx = x - cx;
+                // Inverse mapping: where this output pixel comes from
+                int sx = (int) Math.round(cx + dx * cos + dy * sin);
+                int sy = (int) Math.round(cy - dx * sin + dy * cos);
+                boolean inside = sx >= 0 && sx < width && sy >= 0 && sy < height;
+                out[y * width + x] = inside ? pixels[sy * width + sx] : (byte) 255;
+            }
+        }
+        return rotated;
+    }
+
+    /**
+     * Crop to rows and columns that contain a meaningful amount of ink, so
+     * specks and borders far from the text do not widen the box.
+     */
+    private static BufferedImage cropToText(BufferedImage image, byte[] pixels) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] rowInk = new int[height];
+        int[] columnInk = new int[width];
+        for (int y = 0; y < height; y++) {
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                if (pixels[offset + x] == 0) {
+                    rowInk[y]++;
+                    columnInk[x]++;
+                }
+            }
+        }
+        int top = firstAbove(rowInk, Math.max(2, width / 200), 1);
+        int bottom = firstAbove(rowInk, Math.max(2, width / 200), -1);
+        int left = firstAbove(columnInk, Math.max(2, height / 200), 1);
+        int right = firstAbove(columnInk, Math.max(2, height / 200), -1);
+        if (top < 0 || left < 0) {
+            return image; // blank page
+        }
+
+        top = Math.max(0, top - CROP_MARGIN);
+        left = Math.max(0, left - CROP_MARGIN);
+        bottom = Math.min(height - 1, bottom + CROP_MARGIN);
+        right = Math.min(width - 1, right + CROP_MARGIN);
+        int cropWidth = right - left + 1;
+        int cropHeight = bottom - top + 1;
+        if (cropWidth == width && cropHeight == height) {
+            return image;
+        }
+
+        // Copy rather than getSubimage, so the result owns a packed pixel buffer
+        BufferedImage cropped = new BufferedImage(cropWidth, cropHeight, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] out = ((DataBufferByte) cropped.getRaster().getDataBuffer()).getData();
+        for (int y = 0; y < cropHeight; y++) {
+            System.arraycopy(pixels, (top + y) * width + left, out, y * cropWidth, cropWidth);
+        }
+        return cropped;
+    }
+
+    private static int luma(int rgb) {
+        return (((rgb >> 16) & 0xFF) * 77 + ((rgb >> 8) & 0xFF) * 150 + (rgb & 0xFF) * 29) >> 8;
+    }
+
+    private static int firstAbove(int[] counts, int threshold, int direction) {
+        int start = direction > 0 ? 0 : counts.length - 1;
+        for (int i = start; i >= 0 && i < counts.length; i += direction) {
+            if (counts[i] >= threshold) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] ensureCapacity(byte[] buffer, int size) {
+        return buffer.length >= size ? buffer : new byte[size];
+    }
+
+    private static int[] ensureCapacity(int[] buffer, int size) {
+        return buffer.length >= size ? buffer : new int[size];
+    }
+
+    private static long[] ensureCapacity(long[] buffer, int size) {
+        return buffer.length >= size ? buffer : new long[size];
+    }
+}
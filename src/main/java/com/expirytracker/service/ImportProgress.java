@@ -0,0 +1,79 @@
+package com.expirytracker.service;
+
+/**
+ * Snapshot of a running (or finished) CSV import.
+ */
+public class ImportProgress {
+    private final long bytesRead;
+    private final long totalBytes;
+    private final long rowsParsed;
+    private final long rowsWritten;
+    private final long rowsRejected;
+    private final long elapsedNanos;
+    private final boolean done;
+
+    public ImportProgress(long bytesRead, long totalBytes, long rowsParsed, long rowsWritten,
+                          long rowsRejected, long elapsedNanos, boolean done) {
+        this.bytesRead = bytesRead;
+        this.totalBytes = totalBytes;
+        this.rowsParsed = rowsParsed;
+        this.rowsWritten = rowsWritten;
+        this.rowsRejected = rowsRejected;
+        this.elapsedNanos = elapsedNanos;
+        this.done = done;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Fraction of the file consumed, 0.0 - 1.0.
+     */
+    public double getFraction() {
+        if (done) return 1.0;
+        return totalBytes <= 0 ? 0.0 : Math.min(1.0, (double) bytesRead / totalBytes);
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rowsWritten * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Short human-readable summary for the status bar.
+     */
+    public String toStatusText() {
+        return String.format("%s %,d items (%.0f%%, %.0f rows/s)",
+                done ? "Imported" : "Importing...", rowsWritten, getFraction() * 100, getRowsPerSecond());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImportProgress{bytes=%d/%d, parsed=%d, written=%d, rejected=%d, elapsed=%d ms, done=%b}",
+                bytesRead, totalBytes, rowsParsed, rowsWritten, rowsRejected, getElapsedMillis(), done);
+    }
+}
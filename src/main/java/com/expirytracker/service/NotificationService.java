@@ -1,30 +1,60 @@
 package com.expirytracker.service;
 
-import com.expirytracker.database.ItemDAO;
+import com.expirytracker.database.ItemRepository;
 import com.expirytracker.model.Item;
+import com.expirytracker.util.DayClock;
 import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Service for managing notifications about expiring items.
+ * <p>
+ * Instead of polling, it sleeps until the next midnight at which some item
+ * comes within {@value #NOTIFICATION_THRESHOLD_DAYS} days of expiry, found
+ * with one index lookup ({@link ItemRepository#findNextExpiring(long)}).
+ * Writes through the repository trigger an immediate re-check and
+ * reschedule, so newly added items are reported right away. Each item is
+ * reported once per expiry date.
  */
 public class NotificationService {
     
     private static final int NOTIFICATION_THRESHOLD_DAYS = 7; // Alert when <= 7 days
-    private static final int CHECK_INTERVAL_HOURS = 24; // Check every 24 hours
+    // Upper bound on one sleep, so system suspend or clock changes are noticed
+    private static final long MAX_SLEEP_HOURS = 6;
     
-    private final ItemDAO itemDAO;
+    private final ItemRepository itemRepository;
+    private final Consumer<List<Item>> notifier;
     private final ScheduledExecutorService scheduler;
-    private boolean running = false;
+    private volatile boolean running = false;
 
-    public NotificationService(ItemDAO itemDAO) {
-        this.itemDAO = itemDAO;
+    // Only touched on the scheduler thread
+    private Map<Integer, LocalDate> notifiedExpiryById = new HashMap<>();
+    private ScheduledFuture<?> nextCheck;
+    private volatile long nextDeadlineEpochDay = Long.MAX_VALUE;
+
+    public NotificationService(ItemRepository itemRepository) {
+        this(itemRepository, null);
+    }
+
+    /**
+     * @param notifier receives newly expiring items on the scheduler thread;
+     *                 null shows an alert dialog on the FX thread
+     */
+    public NotificationService(ItemRepository itemRepository, Consumer<List<Item>> notifier) {
+        this.itemRepository = itemRepository;
+        this.notifier = notifier != null ? notifier : items -> Platform.runLater(() -> showNotification(items));
         this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread thread = new Thread(r);
             thread.setDaemon(true); // Daemon thread so it doesn't prevent app shutdown
@@ -34,49 +64,101 @@ public class NotificationService {
     }
 
     /**
-     * Start the notification service with daily checks.
+     * Start the notification service: check once after a short delay, then
+     * whenever items change or the next threshold day begins.
      */
-    public void start() {
+    public synchronized void start() {
+        start(10, TimeUnit.SECONDS);
+    }
+
+    synchronized void start(long initialDelay, TimeUnit unit) {
         if (running) {
             System.out.println("NotificationService already running");
             return;
         }
 
         running = true;
-        
-        // Run initial check after 10 seconds
-        long initialDelaySeconds = 10;
-        
-        scheduler.scheduleAtFixedRate(() -> {
-            try {
-                checkAndNotify();
-            } catch (Exception e) {
-                System.err.println("Error in notification check: " + e.getMessage());
-                e.printStackTrace();
-            }
-        }, initialDelaySeconds, CHECK_INTERVAL_HOURS * 3600, TimeUnit.SECONDS);
+        itemRepository.addChangeListener(this::onItemsChanged);
+        nextCheck = scheduler.schedule(this::checkAndReschedule, initialDelay, unit);
 
-        System.out.println("NotificationService started - checking every " + CHECK_INTERVAL_HOURS + " hours");
+        System.out.println("NotificationService started - checking at expiry thresholds");
+    }
+
+    private void onItemsChanged() {
+        if (running) {
+            scheduler.execute(this::checkAndReschedule);
+        }
     }
 
     /**
-     * Check for expiring items and show notification.
+     * Report newly expiring items, then sleep until the next threshold crossing.
+     * Runs on the scheduler thread.
+     */
+    private void checkAndReschedule() {
+        if (!running) {
+            return;
+        }
+        if (nextCheck != null) {
+            nextCheck.cancel(false);
+        }
+        try {
+            checkAndNotify();
+            scheduleNextCheck();
+        } catch (Exception e) {
+            System.err.println("Error in notification check: " + e.getMessage());
+            e.printStackTrace();
+            nextCheck = scheduler.schedule(this::checkAndReschedule, MAX_SLEEP_HOURS, TimeUnit.HOURS);
+        }
+    }
+
+    /**
+     * Check for expiring items and notify about those not reported yet.
      */
     private void checkAndNotify() {
-        System.out.println("Running expiry check...");
-        
-        List<Item> expiringItems = itemDAO.findExpiringWithinDays(NOTIFICATION_THRESHOLD_DAYS);
-        
-        if (!expiringItems.isEmpty()) {
-            System.out.println("Found " + expiringItems.size() + " items expiring soon");
-            
-            // Show notification on JavaFX UI thread
-            Platform.runLater(() -> showNotification(expiringItems));
-        } else {
-            System.out.println("No items expiring soon");
+        List<Item> expiringItems = itemRepository.findExpiringWithinDays(NOTIFICATION_THRESHOLD_DAYS);
+
+        // Remember what is in the window now; items that left it (deleted,
+        // expired, moved out) are forgotten and reported again if they return
+        Map<Integer, LocalDate> inWindow = new HashMap<>();
+        List<Item> newlyExpiring = new ArrayList<>();
+        for (Item item : expiringItems) {
+            inWindow.put(item.getId(), item.getExpiryDate());
+            if (!item.getExpiryDate().equals(notifiedExpiryById.get(item.getId()))) {
+                newlyExpiring.add(item);
+            }
+        }
+        notifiedExpiryById = inWindow;
+
+        if (!newlyExpiring.isEmpty()) {
+            System.out.println("Found " + newlyExpiring.size() + " items expiring soon");
+            notifier.accept(newlyExpiring);
         }
     }
 
+    /**
+     * Sleep until the start of the first day on which another item enters
+     * the notification window.
+     */
+    private void scheduleNextCheck() {
+        long today = DayClock.get().todayEpochDay();
+        Item next = itemRepository.findNextExpiring(today + NOTIFICATION_THRESHOLD_DAYS + 1);
+        // Without any future crossing, still wake up at midnight to forget expired items
+        long deadline = next == null ? today + 1 : next.getExpiryDate().toEpochDay() - NOTIFICATION_THRESHOLD_DAYS;
+        nextDeadlineEpochDay = deadline;
+
+        // Ignores DST shifts; a wake-up that comes early just finds nothing and sleeps again
+        long delayMillis = DayClock.get().millisUntilTomorrow() + (deadline - today - 1) * TimeUnit.DAYS.toMillis(1);
+        delayMillis = Math.min(delayMillis, TimeUnit.HOURS.toMillis(MAX_SLEEP_HOURS));
+        nextCheck = scheduler.schedule(this::checkAndReschedule, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Epoch day on which the next item enters the notification window, as of the last check.
+     */
+    public long getNextDeadlineEpochDay() {
+        return nextDeadlineEpochDay;
+    }
+
     /**
      * Show notification dialog with expiring items.
      */
@@ -102,13 +184,13 @@ public class NotificationService {
      * Manually trigger a notification check (for testing).
      */
     public void checkNow() {
-        checkAndNotify();
+        scheduler.execute(this::checkAndReschedule);
     }
 
     /**
      * Stop the notification service.
      */
-    public void stop() {
+    public synchronized void stop() {
         if (running) {
             scheduler.shutdownNow();
             running = false;
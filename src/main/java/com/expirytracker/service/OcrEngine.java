@@ -0,0 +1,198 @@
+package com.expirytracker.service;
+
+import com.sun.jna.Pointer;
+import net.sourceforge.tess4j.ITessAPI.TessBaseAPI;
+import net.sourceforge.tess4j.ITessAPI.TessPageIterator;
+import net.sourceforge.tess4j.ITessAPI.TessPageIteratorLevel;
+import net.sourceforge.tess4j.TessAPI1;
+import net.sourceforge.tess4j.TesseractException;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One native Tesseract engine, initialized once and reused for many images.
+ * tess4j's {@code Tesseract} class loads the language model and tears it down
+ * again on every {@code doOCR} call; holding the handle skips that work.
+ * Not thread-safe: each engine is owned by a single OCR worker thread.
+ */
+final class OcrEngine implements AutoCloseable {
+
+    private static final String LANGUAGE = "eng";
+    private static final int PAGE_SEG_MODE = 1; // Automatic page segmentation with OSD
+    private static final int REGION_SEG_MODE = 6; // Single uniform block of text
+    private static final int OCR_ENGINE_MODE = 1; // Neural nets LSTM engine
+    private static final int SOURCE_DPI = 300;
+
+    private TessBaseAPI handle;
+    private ByteBuffer pixelBuffer = ByteBuffer.allocateDirect(0); // reused between images
+    private int lastRegionCount;
+
+    private OcrEngine(TessBaseAPI handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Create and initialize an engine (loads the language model).
+     */
+    static OcrEngine open(String tessDataPath) throws TesseractException {
+        TessBaseAPI handle;
+        try {
+            handle = TessAPI1.TessBaseAPICreate();
+        } catch (LinkageError e) {
+            throw new TesseractException("Tesseract native library could not be loaded", e);
+        }
+        if (TessAPI1.TessBaseAPIInit2(handle, tessDataPath, LANGUAGE, OCR_ENGINE_MODE) != 0) {
+            TessAPI1.TessBaseAPIDelete(handle);
+            throw new TesseractException("Could not initialize Tesseract with data path " + tessDataPath);
+        }
+        TessAPI1.TessBaseAPISetPageSegMode(handle, PAGE_SEG_MODE);
+        TessAPI1.TessBaseAPISetVariable(handle, "user_defined_dpi", String.valueOf(SOURCE_DPI));
+        return new OcrEngine(handle);
+    }
+
+    /**
+     * Recognize the text in an image.
+     */
+    String recognize(BufferedImage image) throws TesseractException {
+        setImage(image);
+        try {
+            return getText();
+        } finally {
+            // Drop the image and results but keep the loaded model
+            TessAPI1.TessBaseAPIClear(handle);
+        }
+    }
+
+    /**
+     * Two-pass recognition: a layout-only pass finds the text lines, then
+     * only the regions chosen by {@link OcrRegionSelector} are recognized.
+     * @return the text of those regions top to bottom, or null if the layout
+     *         did not allow skipping anything (the caller should use {@link #recognize})
+     */
+    String recognizeRegions(BufferedImage image) throws TesseractException {
+        setImage(image);
+        try {
+            List<Rectangle> regions = OcrRegionSelector.select(analyseLines(), image.getWidth(), image.getHeight());
+            if (regions.isEmpty()) {
+                return null;
+            }
+            StringBuilder text = new StringBuilder();
+            TessAPI1.TessBaseAPISetPageSegMode(handle, REGION_SEG_MODE);
+            try {
+                for (Rectangle region : regions) {
+                    TessAPI1.TessBaseAPISetRectangle(handle, region.x, region.y, region.width, region.height);
+                    String regionText = getText().strip();
+                    if (!regionText.isEmpty()) {
+                        text.append(regionText).append('\n');
+                    }
+                }
+            } finally {
+                TessAPI1.TessBaseAPISetPageSegMode(handle, PAGE_SEG_MODE);
+            }
+            lastRegionCount = regions.size();
+            return text.toString();
+        } finally {
+            TessAPI1.TessBaseAPIClear(handle);
+        }
+    }
+
+    /**
+     * Number of regions recognized by the last successful {@link #recognizeRegions} call.
+     */
+    int getLastRegionCount() {
+        return lastRegionCount;
+    }
+
+    /**
+     * Line boxes and their block numbers from layout analysis alone (no recognition).
+     */
+    private List<OcrRegionSelector.TextLine> analyseLines() {
+        List<OcrRegionSelector.TextLine> lines = new ArrayList<>();
+        TessPageIterator iterator = TessAPI1.TessBaseAPIAnalyseLayout(handle);
+        if (iterator == null) {
+            return lines;
+        }
+        try {
+            IntBuffer left = IntBuffer.allocate(1);
+            IntBuffer top = IntBuffer.allocate(1);
+            IntBuffer right = IntBuffer.allocate(1);
+            IntBuffer bottom = IntBuffer.allocate(1);
+            int block = -1;
+            TessAPI1.TessPageIteratorBegin(iterator);
+            do {
+                if (TessAPI1.TessPageIteratorIsAtBeginningOf(iterator, TessPageIteratorLevel.RIL_BLOCK) != 0) {
+                    block++;
+                }
+                if (TessAPI1.TessPageIteratorBoundingBox(iterator, TessPageIteratorLevel.RIL_TEXTLINE,
+                        left, top, right, bottom) != 0) {
+                    lines.add(new OcrRegionSelector.TextLine(Math.max(block, 0), new Rectangle(left.get(0), top.get(0),
+                            right.get(0) - left.get(0), bottom.get(0) - top.get(0))));
+                }
+            } while (TessAPI1.TessPageIteratorNext(iterator, TessPageIteratorLevel.RIL_TEXTLINE) != 0);
+        } finally {
+            TessAPI1.TessPageIteratorDelete(iterator);
+        }
+        return lines;
+    }
+
+    private void setImage(BufferedImage image) throws TesseractException {
+        if (handle == null) {
+            throw new TesseractException("OCR engine is closed");
+        }
+        BufferedImage gray = toGray(image);
+        byte[] pixels = ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+        if (pixelBuffer.capacity() < pixels.length) {
+            pixelBuffer = ByteBuffer.allocateDirect(pixels.length);
+        }
+        ByteBuffer buffer = pixelBuffer.clear();
+        buffer.put(pixels, 0, gray.getWidth() * gray.getHeight()).flip();
+
+        // 8-bit gray: one byte per pixel, rows packed without padding
+        TessAPI1.TessBaseAPISetImage(handle, buffer, gray.getWidth(), gray.getHeight(), 1, gray.getWidth());
+        TessAPI1.TessBaseAPISetSourceResolution(handle, SOURCE_DPI);
+    }
+
+    private String getText() throws TesseractException {
+        Pointer text = TessAPI1.TessBaseAPIGetUTF8Text(handle);
+        if (text == null) {
+            throw new TesseractException("Tesseract returned no text");
+        }
+        try {
+            return text.getString(0, "UTF-8");
+        } finally {
+            TessAPI1.TessDeleteText(text);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (handle != null) {
+            TessAPI1.TessBaseAPIEnd(handle);
+            TessAPI1.TessBaseAPIDelete(handle);
+            handle = null;
+        }
+    }
+
+    private static BufferedImage toGray(BufferedImage image) {
+        // Reuse only a gray image that owns its whole pixel buffer (not a sub-image)
+        if (image.getType() == BufferedImage.TYPE_BYTE_GRAY
+                && image.getRaster().getDataBuffer().getSize() == image.getWidth() * image.getHeight()) {
+            return image;
+        }
+        BufferedImage gray = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        try {
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return gray;
+    }
+}
@@ -0,0 +1,102 @@
+package com.expirytracker.service;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chooses which text regions of a label are worth full recognition, from the
+ * line boxes of a layout-only pass.
+ * <p>
+ * Expiry dates and product names sit in short, isolated blocks ("BEST BEFORE
+ * 12/03/26", a brand line), while most of the text on a package is in dense
+ * panels (ingredients, nutrition facts) that the parsers never use. So short
+ * blocks are kept, dense blocks are skipped, and the tallest line on the
+ * label is always kept because it is usually the product name.
+ */
+final class OcrRegionSelector {
+
+    /** Blocks with more lines than this are treated as panels and skipped. */
+    static final int MAX_LINES_PER_BLOCK = 3;
+    /** Lines shorter than this are specks, not text. */
+    static final int MIN_LINE_HEIGHT = 8;
+    /** If the kept regions cover more of the text than this, recognize the whole page instead. */
+    static final double MAX_KEPT_TEXT_FRACTION = 0.7;
+    static final int PADDING = 6;
+
+    /**
+     * A line box from the layout pass, and the block it belongs to.
+     */
+    static class TextLine {
+        final int block;
+        final Rectangle box;
+
+        TextLine(int block, Rectangle box) {
+            this.block = block;
+            this.box = box;
+        }
+    }
+
+    private OcrRegionSelector() {
+    }
+
+    /**
+     * Regions to recognize, top to bottom so the joined text reads in page
+     * order, or an empty list if region OCR would not save enough work and
+     * the whole page should be recognized.
+     */
+    static List<Rectangle> select(List<TextLine> lines, int imageWidth, int imageHeight) {
+        Map<Integer, List<TextLine>> blocks = new LinkedHashMap<>();
+        TextLine tallest = null;
+        long textArea = 0;
+        for (TextLine line : lines) {
+            if (line.box.height < MIN_LINE_HEIGHT) {
+                continue;
+            }
+            blocks.computeIfAbsent(line.block, b -> new ArrayList<>()).add(line);
+            textArea += (long) line.box.width * line.box.height;
+            if (tallest == null || line.box.height > tallest.box.height) {
+                tallest = line;
+            }
+        }
+        if (tallest == null) {
+            return List.of();
+        }
+
+        List<Rectangle> regions = new ArrayList<>();
+        long keptArea = 0;
+        boolean tallestKept = false;
+        for (List<TextLine> block : blocks.values()) {
+            if (block.size() > MAX_LINES_PER_BLOCK) {
+                continue;
+            }
+            Rectangle region = new Rectangle(block.get(0).box);
+            for (TextLine line : block) {
+                region.add(line.box);
+                keptArea += (long) line.box.width * line.box.height;
+                tallestKept |= line == tallest;
+            }
+            regions.add(region);
+        }
+        if (!tallestKept) {
+            regions.add(new Rectangle(tallest.box));
+            keptArea += (long) tallest.box.width * tallest.box.height;
+        }
+        if (keptArea > MAX_KEPT_TEXT_FRACTION * textArea) {
+            return List.of();
+        }
+
+        Rectangle bounds = new Rectangle(0, 0, imageWidth, imageHeight);
+        List<Rectangle> padded = new ArrayList<>(regions.size());
+        for (Rectangle region : regions) {
+            Rectangle grown = new Rectangle(region);
+            grown.grow(PADDING, PADDING);
+            padded.add(grown.intersection(bounds));
+        }
+        padded.sort(Comparator.comparingInt((Rectangle r) -> r.y).thenComparingInt(r -> r.x));
+        return padded;
+    }
+}
@@ -0,0 +1,187 @@
+package com.expirytracker.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of OCR text, keyed by a SHA-256 hash of the image bytes and
+ * the engine configuration, so rescanning the same photo skips Tesseract.
+ * <p>
+ * Each entry is one UTF-8 text file named after its key. Recency is kept in
+ * the files' modification times, so least-recently-used order survives a
+ * restart; entries are evicted oldest first once the total size passes the
+ * limit. Cache failures are logged and treated as misses, never as OCR errors.
+ */
+public class OcrResultCache {
+
+    public static final Path DEFAULT_DIRECTORY = Path.of(System.getProperty("user.home"), ".expirytracker", "ocr-cache");
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private static final String SUFFIX = ".txt";
+
+    private final Path directory;
+    private final long maxBytes;
+    // Key -> file size, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    public OcrResultCache() {
+        this(DEFAULT_DIRECTORY, DEFAULT_MAX_BYTES);
+    }
+
+    public OcrResultCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = Math.max(0, maxBytes);
+        load();
+    }
+
+    /**
+     * Cache key for an image: SHA-256 over the engine configuration and the image bytes.
+     */
+    public static String key(byte[] imageBytes, String config) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(config.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(imageBytes);
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Cached text for a key, or null on a miss. A hit becomes the most recently used entry.
+     */
+    public synchronized String get(String key) {
+        // get (not containsKey) so the entry moves to the most recently used end
+        if (entries.get(key) == null) {
+            return null;
+        }
+        Path file = fileFor(key);
+        try {
+            String text = Files.readString(file, StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return text;
+        } catch (IOException e) {
+            System.err.println("Could not read OCR cache entry " + file + ": " + e.getMessage());
+            totalBytes -= entries.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Store the text for a key, evicting least recently used entries to stay within the size limit.
+     */
+    public synchronized void put(String key, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            return;
+        }
+        Path file = fileFor(key);
+        try {
+            Files.createDirectories(directory);
+            // Write to a temporary file first so a crash never leaves a truncated entry
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write OCR cache entry " + file + ": " + e.getMessage());
+            return;
+        }
+        Long previous = entries.put(key, (long) bytes.length);
+        totalBytes += bytes.length - (previous == null ? 0 : previous);
+        evict();
+    }
+
+    /**
+     * Delete every entry.
+     */
+    public synchronized void clear() {
+        for (String key : new ArrayList<>(entries.keySet())) {
+            delete(key);
+        }
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Index the existing entries, oldest first, and drop leftovers of interrupted writes.
+     */
+    private void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<File> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.forEach(path -> files.add(path.toFile()));
+        } catch (IOException e) {
+            System.err.println("Could not read OCR cache directory " + directory + ": " + e.getMessage());
+            return;
+        }
+        files.sort(Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(SUFFIX)) {
+                entries.put(name.substring(0, name.length() - SUFFIX.length()), file.length());
+                totalBytes += file.length();
+            } else if (name.endsWith(".tmp")) {
+                file.delete();
+            }
+        }
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            delete(eldest.getKey());
+            totalBytes -= eldest.getValue();
+            it.remove();
+        }
+    }
+
+    private void delete(String key) {
+        try {
+            Files.deleteIfExists(fileFor(key));
+        } catch (IOException e) {
+            System.err.println("Could not delete OCR cache entry " + key + ": " + e.getMessage());
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+}
@@ -1,12 +1,52 @@
 package com.expirytracker.service;
 
-import net.sourceforge.tess4j.*;
+import com.expirytracker.util.DateParser;
+import net.sourceforge.tess4j.TesseractException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * OCR Service using Tesseract to extract text from images.
+ * <p>
+ * Recognition runs on a fixed pool of worker threads, each owning one
+ * {@link OcrEngine} that is initialized when the thread starts and reused
+ * for every image it processes, plus an {@link ImagePreprocessor} that
+ * cleans up the photo first (disable with
+ * {@code -Dexpirytracker.ocr.preprocess=false}). Each image is first
+ * recognized in two passes: a layout-only pass, then full recognition of
+ * just the blocks likely to hold a date or product name (see
+ * {@link OcrRegionSelector}); if that finds no date the whole page is
+ * recognized (force this with {@code -Dexpirytracker.ocr.mode=full}).
+ * The workers are started (and the language
+ * model loaded) as soon as the tessdata directory is known, so the first
+ * scan does not pay for initialization. Scans may be submitted from any
+ * thread; they are queued until a worker is free.
+ * <p>
+ * Results are cached on disk by image content (see {@link OcrResultCache}),
+ * so rescanning a photo returns without running Tesseract; disable with
+ * {@code -Dexpirytracker.ocr.cache=false}.
  */
 public class OcrService {
+
+    /**
+     * Number of engines. Tesseract may use several cores per image itself,
+     * and each engine holds its own copy of the language model, so use half
+     * the cores and at most four.
+     */
+    public static final int DEFAULT_POOL_SIZE =
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
     
     // Default Tesseract installation paths
     private static final String[] POSSIBLE_TESS_PATHS = {
@@ -18,15 +58,57 @@ public class OcrService {
         "/usr/local/share/tessdata"
     };
 
-    private final Tesseract tesseract;
-    private boolean initialized = false;
+    private static final boolean PREPROCESS =
+            Boolean.parseBoolean(System.getProperty("expirytracker.ocr.preprocess", "true"));
+    private static final boolean REGION_MODE =
+            !"full".equalsIgnoreCase(System.getProperty("expirytracker.ocr.mode", "regions"));
+
+    private static final boolean CACHE_RESULTS =
+            Boolean.parseBoolean(System.getProperty("expirytracker.ocr.cache", "true"));
+
+    /**
+     * Text recognition for one image; stands in for the Tesseract engines in tests.
+     */
+    @FunctionalInterface
+    interface Recognizer {
+        String recognize(BufferedImage image) throws TesseractException;
+    }
+
+    private final int poolSize;
+    private final OcrResultCache cache;
+    private final Recognizer recognizer; // null: each worker's own engine
+    private volatile boolean initialized = false;
     private String tessDataPathField = null;
+    private ThreadPoolExecutor workers;
 
     public OcrService() {
-        this.tesseract = new Tesseract();
+        this(DEFAULT_POOL_SIZE);
+    }
+
+    public OcrService(int poolSize) {
+        this(poolSize, CACHE_RESULTS ? new OcrResultCache() : null);
+    }
+
+    /**
+     * @param cache where results are cached, or null to always run OCR
+     */
+    public OcrService(int poolSize, OcrResultCache cache) {
+        this.poolSize = Math.max(1, poolSize);
+        this.cache = cache;
+        this.recognizer = null;
         initializeTesseract();
     }
 
+    /**
+     * Workers that call the given recognizer instead of opening Tesseract engines.
+     */
+    OcrService(int poolSize, OcrResultCache cache, Recognizer recognizer) {
+        this.poolSize = Math.max(1, poolSize);
+        this.cache = cache;
+        this.recognizer = recognizer;
+        startWorkers("(none)");
+    }
+
     /**
      * Initialize Tesseract with appropriate data path.
      */
@@ -35,16 +117,7 @@ public class OcrService {
         String tessDataPath = findTessDataPath();
         
         if (tessDataPath != null) {
-            tesseract.setDatapath(tessDataPath);
-            this.tessDataPathField = tessDataPath;
-            tesseract.setLanguage("eng");
-            tesseract.setPageSegMode(1); // Automatic page segmentation with OSD
-            tesseract.setOcrEngineMode(1); // Neural nets LSTM engine
-            
-            // Optional: improve accuracy
-            tesseract.setTessVariable("user_defined_dpi", "300");
-            
-            initialized = true;
+            startWorkers(tessDataPath);
             System.out.println("Tesseract initialized with data path: " + tessDataPath);
         } else {
             System.err.println("WARNING: Could not find Tesseract tessdata directory!");
@@ -94,12 +167,103 @@ public class OcrService {
     }
 
     /**
-     * Perform OCR on an image file.
-     * @param imageFile Image file to process
-     * @return Extracted text from the image
-     * @throws TesseractException if OCR fails
+     * Start (or restart) the worker threads; each loads its engine as soon as it starts.
      */
-    public String doOcr(File imageFile) throws TesseractException {
+    private synchronized void startWorkers(String tessDataPath) {
+        if (workers != null) {
+            workers.shutdown();
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    String name = "OcrWorker-" + threadNumber.incrementAndGet();
+                    if (recognizer == null) {
+                        return new OcrWorker(r, tessDataPath, name);
+                    }
+                    Thread thread = new Thread(r, name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        workers.prestartAllCoreThreads();
+        this.tessDataPathField = tessDataPath;
+        initialized = true;
+    }
+
+    /**
+     * Worker thread that owns one engine for its whole life.
+     */
+    private static class OcrWorker extends Thread {
+        private final String tessDataPath;
+        private final ImagePreprocessor preprocessor = new ImagePreprocessor();
+        private OcrEngine engine;
+        private TesseractException initError;
+
+        OcrWorker(Runnable target, String tessDataPath, String name) {
+            super(target, name);
+            this.tessDataPath = tessDataPath;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                engine = OcrEngine.open(tessDataPath);
+                System.out.printf("%s: engine ready in %d ms%n", getName(), (System.nanoTime() - start) / 1_000_000);
+            } catch (TesseractException e) {
+                initError = e;
+                System.err.println(getName() + ": " + e.getMessage());
+            }
+            try {
+                super.run();
+            } finally {
+                if (engine != null) {
+                    engine.close();
+                }
+            }
+        }
+
+        String recognize(BufferedImage image) throws TesseractException {
+            if (engine == null) {
+                throw new TesseractException("Tesseract engine failed to initialize", initError);
+            }
+            String timing = "";
+            if (PREPROCESS) {
+                ImagePreprocessor.Result prepared = preprocessor.process(image);
+                timing = String.format("preprocess %dx%d -> %dx%d in %s, ", image.getWidth(), image.getHeight(),
+                        prepared.getImage().getWidth(), prepared.getImage().getHeight(), prepared.toTimingText());
+                image = prepared.getImage();
+            }
+            long start = System.nanoTime();
+            if (REGION_MODE) {
+                String text = engine.recognizeRegions(image);
+                long regionMillis = (System.nanoTime() - start) / 1_000_000;
+                // Fall back to the whole page if the regions held no date
+                if (text != null && DateParser.parseDateFromText(text).isPresent()) {
+                    System.out.printf("%s: %srecognize %d region(s) %d ms%n",
+                            getName(), timing, engine.getLastRegionCount(), regionMillis);
+                    return text;
+                }
+                timing += String.format("regions %d ms (%s), ", regionMillis, text == null ? "no layout gain" : "no date");
+                start = System.nanoTime();
+            }
+            String text = engine.recognize(image);
+            System.out.printf("%s: %srecognize %d ms%n", getName(), timing, (System.nanoTime() - start) / 1_000_000);
+            return text;
+        }
+    }
+
+    /**
+     * Queue an image for OCR on the worker pool. The file is read once, on the
+     * calling thread: its bytes are both the result cache key and the image the
+     * worker recognizes, so a file changed meanwhile can never cache text under
+     * the wrong key. A cache hit returns an already completed future. Call this
+     * off the FX thread.
+     * @return the extracted text; fails with a {@link TesseractException} if OCR fails
+     * @throws TesseractException if Tesseract is not available or the file does not exist
+     */
+    public Future<String> submit(File imageFile) throws TesseractException {
         if (!initialized) {
             throw new TesseractException("Tesseract not properly initialized. Please install Tesseract-OCR.");
         }
@@ -108,15 +272,105 @@ public class OcrService {
             throw new TesseractException("Image file does not exist: " + imageFile);
         }
 
-        try {
+        ThreadPoolExecutor pool;
+        String config;
+        synchronized (this) {
+            pool = workers;
+            config = cacheConfig();
+        }
+        if (pool == null) {
+            throw new TesseractException("OCR service has been shut down");
+        }
+        byte[] bytes = readBytes(imageFile);
+        // Check the cache here so a hit never waits behind queued OCR jobs
+        String key = null;
+        if (cache != null) {
+            key = OcrResultCache.key(bytes, config);
+            String cached = cache.get(key);
+            if (cached != null) {
+                System.out.println("OCR cache hit for " + imageFile.getName() + ": " + cached.length() + " characters.");
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        String cacheKey = key;
+        return pool.submit(() -> {
             System.out.println("Processing image: " + imageFile.getAbsolutePath());
-            String result = tesseract.doOCR(imageFile);
+            BufferedImage image = decodeImage(bytes, imageFile);
+            String result = recognizer != null ? recognizer.recognize(image)
+                    : ((OcrWorker) Thread.currentThread()).recognize(image);
+            if (cacheKey != null) {
+                cache.put(cacheKey, result);
+            }
             System.out.println("OCR completed. Extracted " + result.length() + " characters.");
             return result;
-        } catch (TesseractException e) {
-            System.err.println("OCR failed: " + e.getMessage());
-            throw e;
+        });
+    }
+
+    /**
+     * Perform OCR on an image file, waiting for a free engine.
+     * @param imageFile Image file to process
+     * @return Extracted text from the image
+     * @throws TesseractException if OCR fails
+     */
+    public String doOcr(File imageFile) throws TesseractException {
+        try {
+            return submit(imageFile).get();
+        } catch (ExecutionException e) {
+            System.err.println("OCR failed: " + e.getCause().getMessage());
+            if (e.getCause() instanceof TesseractException) {
+                throw (TesseractException) e.getCause();
+            }
+            throw new TesseractException("OCR failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TesseractException("OCR interrupted", e);
+        }
+    }
+
+    /**
+     * Everything that changes the text produced for an image, for the cache key.
+     */
+    private String cacheConfig() {
+        return "v1 lang=eng oem=1 preprocess=" + PREPROCESS + " mode=" + (REGION_MODE ? "regions" : "full")
+                + " tessdata=" + tessDataPathField;
+    }
+
+    private static byte[] readBytes(File imageFile) throws TesseractException {
+        try {
+            return Files.readAllBytes(imageFile.toPath());
+        } catch (IOException e) {
+            throw new TesseractException("Could not read image " + imageFile.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static BufferedImage decodeImage(byte[] bytes, File imageFile) throws TesseractException {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+            if (image == null) {
+                throw new TesseractException("Unsupported image format: " + imageFile.getName());
+            }
+            return image;
+        } catch (IOException e) {
+            throw new TesseractException("Could not read image " + imageFile.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Number of OCR engines (and worker threads).
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Stop the workers and release their engines.
+     */
+    public synchronized void shutdown() {
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
         }
+        initialized = false;
     }
 
     /**
@@ -138,9 +392,7 @@ public class OcrService {
      */
     public void setTessDataPath(String path) {
         if (path != null && new File(path).exists()) {
-            tesseract.setDatapath(path);
-            this.tessDataPathField = path;
-            initialized = true;
+            startWorkers(path);
             System.out.println("Custom tessdata path set: " + path);
         }
     }
@@ -0,0 +1,260 @@
+package com.expirytracker.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * RFC 4180 CSV reader working on reusable char buffers.
+ * Each call to {@link #next()} loads one record; fields are kept as offsets
+ * into a shared record buffer, so nothing is allocated per field unless the
+ * caller asks for a String. Handles quoted fields, escaped {@code ""} quotes,
+ * line breaks inside quotes and LF, CRLF or CR line endings.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader in;
+    private final char[] buf;
+    private int pos;
+    private int limit;
+    private boolean eof;
+
+    // Current record: field contents back to back, fieldEnds[i] = end offset of field i
+    private char[] record = new char[256];
+    private int recordLength;
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+    private long recordNumber;
+
+    public CsvReader(Reader in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvReader(Reader in, int bufferSize) {
+        this.in = in;
+        this.buf = new char[Math.max(16, bufferSize)];
+    }
+
+    /**
+     * Read the next record.
+     * @return false at end of input
+     */
+    public boolean next() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+
+        if (pos >= limit && !fill()) {
+            return false;
+        }
+
+        boolean inQuotes = false;
+        boolean quotedField = false;
+        while (true) {
+            if (pos >= limit && !fill()) {
+                // End of input terminates the last record (even inside an unclosed quote)
+                endField();
+                recordNumber++;
+                return true;
+            }
+            char c = buf[pos++];
+
+            if (inQuotes) {
+                if (c == '"') {
+                    if (pos >= limit && !fill()) {
+                        inQuotes = false;
+                        continue;
+                    }
+                    if (buf[pos] == '"') {
+                        append('"'); // escaped quote
+                        pos++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    append(c);
+                }
+                continue;
+            }
+
+            switch (c) {
+                case ',':
+                    endField();
+                    quotedField = false;
+                    break;
+                case '\r':
+                    // CRLF or bare CR
+                    if ((pos < limit || fill()) && buf[pos] == '\n') {
+                        pos++;
+                    }
+                    endField();
+                    recordNumber++;
+                    return true;
+                case '\n':
+                    endField();
+                    recordNumber++;
+                    return true;
+                case '"':
+                    if (!quotedField && fieldLength() == 0) {
+                        inQuotes = true;
+                        quotedField = true;
+                    } else {
+                        append(c); // stray quote in an unquoted field, keep it literally
+                    }
+                    break;
+                default:
+                    append(c);
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) return false;
+        int n;
+        do {
+            n = in.read(buf, 0, buf.length);
+        } while (n == 0);
+        if (n < 0) {
+            eof = true;
+            pos = limit = 0;
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private void append(char c) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = c;
+    }
+
+    private int fieldLength() {
+        return recordLength - fieldStart(fieldCount);
+    }
+
+    private void endField() {
+        if (fieldCount == fieldEnds.length) {
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldEnds.length * 2);
+        }
+        fieldEnds[fieldCount++] = recordLength;
+    }
+
+    private int fieldStart(int index) {
+        return index == 0 ? 0 : fieldEnds[index - 1];
+    }
+
+    /**
+     * Number of fields in the current record.
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 1-based number of the current record (the header is record 1).
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * True if the current record is a blank line.
+     */
+    public boolean isBlankLine() {
+        return fieldCount == 1 && recordLength == 0;
+    }
+
+    public int length(int index) {
+        checkIndex(index);
+        return fieldEnds[index] - fieldStart(index);
+    }
+
+    public boolean isEmpty(int index) {
+        return length(index) == 0;
+    }
+
+    /**
+     * Field value as a String (allocates).
+     */
+    public String get(int index) {
+        checkIndex(index);
+        int start = fieldStart(index);
+        return new String(record, start, fieldEnds[index] - start);
+    }
+
+    /**
+     * Parse an integer field without allocating.
+     * @return the value, or defaultValue if the field is not a valid int
+     */
+    public int getInt(int index, int defaultValue) {
+        checkIndex(index);
+        int start = fieldStart(index);
+        int end = fieldEnds[index];
+        while (start < end && record[start] == ' ') start++;
+        while (end > start && record[end - 1] == ' ') end--;
+        if (start == end) return defaultValue;
+
+        boolean negative = record[start] == '-';
+        int i = (negative || record[start] == '+') ? start + 1 : start;
+        if (i == end || end - i > 10) return defaultValue;
+
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = record[i] - '0';
+            if (digit < 0 || digit > 9) return defaultValue;
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        return (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) ? defaultValue : (int) value;
+    }
+
+    /**
+     * Parse an ISO {@code yyyy-MM-dd} date field straight from the buffer.
+     * @return the date, or null if the field is empty
+     * @throws java.time.DateTimeException if the field is not a valid ISO date
+     */
+    public LocalDate getIsoDate(int index) {
+        checkIndex(index);
+        int start = fieldStart(index);
+        int len = fieldEnds[index] - start;
+        if (len == 0) return null;
+
+        if (len == 10 && record[start + 4] == '-' && record[start + 7] == '-') {
+            int year = digits(start, 4);
+            int month = digits(start + 5, 2);
+            int day = digits(start + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        // Unusual form (e.g. signed or extended year) - let java.time decide
+        return LocalDate.parse(get(index));
+    }
+
+    private int digits(int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = record[i] - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -3,29 +3,30 @@ package com.expirytracker.util;
 import com.expirytracker.model.Item;
 
 import java.io.*;
-import java.time.LocalDate;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Utility class for CSV import/export operations.
  */
 public class CsvUtil {
-    
-    private static final String CSV_SEPARATOR = ",";
-    private static final String CSV_HEADER = "Name,Category,Purchase Date,Expiry Date,Quantity,Notes,Image Path";
+
+    private static final String[] CSV_HEADER = {
+        "Name", "Category", "Purchase Date", "Expiry Date", "Quantity", "Notes", "Image Path"
+    };
 
     /**
      * Export items to CSV file.
      */
     public static boolean exportToCsv(List<Item> items, File file) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
-            // Write header
-            writer.println(CSV_HEADER);
+        try (CsvWriter writer = new CsvWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writeHeader(writer);
 
             // Write items
             for (Item item : items) {
-                writer.println(itemToCsvLine(item));
+                writeItem(writer, item);
             }
 
             System.out.println("Exported " + items.size() + " items to: " + file.getAbsolutePath());
@@ -38,30 +39,39 @@ public class CsvUtil {
         }
     }
 
+    /**
+     * Write the CSV header record.
+     */
+    public static void writeHeader(CsvWriter writer) throws IOException {
+        for (String column : CSV_HEADER) {
+            writer.field(column);
+        }
+        writer.endRecord();
+    }
+
+    /**
+     * Write one item as a CSV record.
+     */
+    public static void writeItem(CsvWriter writer, Item item) throws IOException {
+        writer.field(item.getName())
+              .field(item.getCategory())
+              .field(item.getPurchaseDate())
+              .field(item.getExpiryDate())
+              .field(item.getQuantity())
+              .field(item.getNotes())
+              .field(item.getImagePath())
+              .endRecord();
+    }
+
     /**
      * Import items from CSV file.
+     * Loads everything into memory; use {@link #readItems(Reader, Consumer)} to stream large files.
      */
     public static List<Item> importFromCsv(File file) {
         List<Item> items = new ArrayList<>();
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean firstLine = true;
-
-            while ((line = reader.readLine()) != null) {
-                // Skip header
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-
-                // Parse line
-                Item item = csvLineToItem(line);
-                if (item != null) {
-                    items.add(item);
-                }
-            }
-
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            readItems(reader, items::add);
             System.out.println("Imported " + items.size() + " items from: " + file.getAbsolutePath());
 
         } catch (IOException e) {
@@ -73,111 +83,81 @@ public class CsvUtil {
     }
 
     /**
-     * Convert Item to CSV line.
+     * Parse CSV records one at a time, handing each valid item to the consumer.
+     * The header record and blank lines are skipped; invalid records are logged and dropped.
+     * @return number of records that could not be parsed
      */
-    private static String itemToCsvLine(Item item) {
-        return String.format("\"%s\",\"%s\",\"%s\",\"%s\",%d,\"%s\",\"%s\"",
-                escapeQuotes(item.getName()),
-                escapeQuotes(item.getCategory()),
-                item.getPurchaseDate() != null ? item.getPurchaseDate().toString() : "",
-                item.getExpiryDate() != null ? item.getExpiryDate().toString() : "",
-                item.getQuantity(),
-                escapeQuotes(item.getNotes()),
-                escapeQuotes(item.getImagePath())
-        );
+    public static int readItems(Reader source, Consumer<Item> consumer) throws IOException {
+        return readItems(source, consumer, true);
     }
 
     /**
-     * Convert CSV line to Item.
+     * Parse CSV records one at a time, optionally without a header record
+     * (e.g. for a chunk from the middle of a file).
+     * @return number of records that could not be parsed
      */
-    private static Item csvLineToItem(String line) {
-        try {
-            // Simple CSV parsing (handles quoted fields)
-            List<String> fields = parseCsvLine(line);
-            
-            if (fields.size() < 5) {
-                System.err.println("Invalid CSV line (too few fields): " + line);
-                return null;
-            }
+    public static int readItems(Reader source, Consumer<Item> consumer, boolean skipHeader) throws IOException {
+        CsvReader reader = new CsvReader(source);
+        int rejected = 0;
 
-            Item item = new Item();
-            item.setName(fields.get(0));
-            item.setCategory(fields.get(1));
-
-            // Parse purchase date
-            if (!fields.get(2).isEmpty()) {
-                try {
-                    item.setPurchaseDate(LocalDate.parse(fields.get(2)));
-                } catch (Exception e) {
-                    System.err.println("Invalid purchase date: " + fields.get(2));
-                }
-            }
+        // Skip header
+        if (skipHeader && !reader.next()) {
+            return 0;
+        }
 
-            // Parse expiry date
-            if (!fields.get(3).isEmpty()) {
-                try {
-                    item.setExpiryDate(LocalDate.parse(fields.get(3)));
-                } catch (Exception e) {
-                    System.err.println("Invalid expiry date: " + fields.get(3));
-                }
+        while (reader.next()) {
+            if (reader.isBlankLine()) {
+                continue;
             }
-
-            // Parse quantity
-            try {
-                item.setQuantity(Integer.parseInt(fields.get(4)));
-            } catch (NumberFormatException e) {
-                item.setQuantity(1);
+            Item item = toItem(reader);
+            if (item != null) {
+                consumer.accept(item);
+            } else {
+                rejected++;
             }
+        }
+        return rejected;
+    }
 
-            // Optional fields
-            if (fields.size() > 5) {
-                item.setNotes(fields.get(5));
-            }
-            if (fields.size() > 6) {
-                item.setImagePath(fields.get(6));
-            }
+    /**
+     * Convert the reader's current record to an Item.
+     * @return the item, or null if the record has too few fields
+     */
+    public static Item toItem(CsvReader record) {
+        if (record.getFieldCount() < 5) {
+            System.err.println("Invalid CSV record " + record.getRecordNumber() + " (too few fields)");
+            return null;
+        }
 
-            return item;
+        Item item = new Item();
+        item.setName(record.get(0));
+        item.setCategory(record.get(1));
 
+        // Parse purchase date
+        try {
+            item.setPurchaseDate(record.getIsoDate(2));
         } catch (Exception e) {
-            System.err.println("Error parsing CSV line: " + line);
-            e.printStackTrace();
-            return null;
+            System.err.println("Invalid purchase date in record " + record.getRecordNumber() + ": " + record.get(2));
         }
-    }
 
-    /**
-     * Parse CSV line handling quoted fields.
-     */
-    private static List<String> parseCsvLine(String line) {
-        List<String> fields = new ArrayList<>();
-        StringBuilder currentField = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                fields.add(currentField.toString());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
-            }
+        // Parse expiry date
+        try {
+            item.setExpiryDate(record.getIsoDate(3));
+        } catch (Exception e) {
+            System.err.println("Invalid expiry date in record " + record.getRecordNumber() + ": " + record.get(3));
         }
 
-        fields.add(currentField.toString());
-        return fields;
-    }
+        // Parse quantity
+        item.setQuantity(record.getInt(4, 1));
 
-    /**
-     * Escape quotes in CSV fields.
-     */
-    private static String escapeQuotes(String text) {
-        if (text == null) {
-            return "";
+        // Optional fields
+        if (record.getFieldCount() > 5) {
+            item.setNotes(record.get(5));
         }
-        return text.replace("\"", "\"\"");
+        if (record.getFieldCount() > 6) {
+            item.setImagePath(record.get(6));
+        }
+
+        return item;
     }
 }
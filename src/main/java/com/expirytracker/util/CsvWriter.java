@@ -0,0 +1,195 @@
+package com.expirytracker.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+/**
+ * RFC 4180 CSV writer that formats straight into a reusable char buffer.
+ * Text fields are quoted only when they contain a separator, quote or line
+ * break; numbers and dates are written digit by digit without going through
+ * String.format or toString.
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Writer out;
+    private final char[] buf;
+    private int pos;
+    private boolean firstField = true;
+
+    public CsvWriter(Writer out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvWriter(Writer out, int bufferSize) {
+        this.out = out;
+        this.buf = new char[Math.max(64, bufferSize)];
+    }
+
+    /**
+     * Write a text field; null is written as an empty field.
+     */
+    public CsvWriter field(String value) throws IOException {
+        separator();
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        if (!needsQuotes(value)) {
+            write(value);
+            return this;
+        }
+        put('"');
+        int len = value.length();
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                put('"');
+            }
+            put(c);
+        }
+        put('"');
+        return this;
+    }
+
+    public CsvWriter field(long value) throws IOException {
+        separator();
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                write(Long.toString(value));
+                return this;
+            }
+            put('-');
+            value = -value;
+        }
+        writeDigits(value, 1);
+        return this;
+    }
+
+    /**
+     * Write a date as ISO {@code yyyy-MM-dd}; null is written as an empty field.
+     */
+    public CsvWriter field(LocalDate date) throws IOException {
+        separator();
+        if (date != null) {
+            writeIsoDate(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        }
+        return this;
+    }
+
+    /**
+     * Write an epoch day as an ISO date without creating a LocalDate.
+     */
+    public CsvWriter epochDayField(long epochDay) throws IOException {
+        separator();
+        // Days-to-civil conversion (proleptic Gregorian, same as LocalDate.ofEpochDay)
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yoe + era * 400 + (month <= 2 ? 1 : 0));
+        writeIsoDate(year, month, day);
+        return this;
+    }
+
+    /**
+     * Terminate the current record with CRLF.
+     */
+    public void endRecord() throws IOException {
+        put('\r');
+        put('\n');
+        firstField = true;
+    }
+
+    private void writeIsoDate(int year, int month, int day) throws IOException {
+        if (year < 0 || year > 9999) {
+            write(LocalDate.of(year, month, day).toString());
+            return;
+        }
+        writeDigits(year, 4);
+        put('-');
+        writeDigits(month, 2);
+        put('-');
+        writeDigits(day, 2);
+    }
+
+    /**
+     * Write a non-negative number, left-padded with zeros to minDigits.
+     */
+    private void writeDigits(long value, int minDigits) throws IOException {
+        int digits = 1;
+        for (long v = value / 10; v > 0; v /= 10) digits++;
+        digits = Math.max(digits, minDigits);
+        if (buf.length - pos < digits) flushBuffer();
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        pos += digits;
+    }
+
+    private static boolean needsQuotes(String value) {
+        int len = value.length();
+        if (value.charAt(0) == ' ' || value.charAt(len - 1) == ' ') {
+            return true;
+        }
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void separator() throws IOException {
+        if (firstField) {
+            firstField = false;
+        } else {
+            put(',');
+        }
+    }
+
+    private void put(char c) throws IOException {
+        if (pos == buf.length) flushBuffer();
+        buf[pos++] = c;
+    }
+
+    private void write(String s) throws IOException {
+        int len = s.length();
+        int offset = 0;
+        while (offset < len) {
+            if (pos == buf.length) flushBuffer();
+            int n = Math.min(len - offset, buf.length - pos);
+            s.getChars(offset, offset + n, buf, pos);
+            pos += n;
+            offset += n;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        out.close();
+    }
+}
@@ -0,0 +1,97 @@
+package com.expirytracker.util;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Day-granularity clock. The current date is computed once and reused until
+ * the next local midnight, so asking for "today" costs a
+ * {@code currentTimeMillis} comparison instead of a time-zone conversion.
+ * <p>
+ * The application uses the shared instance from {@link #get()}; tests can
+ * install a {@link #fixed} clock with {@link #set}.
+ */
+public class DayClock {
+
+    private static volatile DayClock shared = system();
+
+    /** The cached day and the instant range it covers; replaced atomically at rollover. */
+    private static final class Day {
+        final LocalDate date;
+        final long epochDay;
+        final long startMillis;
+        final long endMillis;
+
+        Day(LocalDate date, long startMillis, long endMillis) {
+            this.date = date;
+            this.epochDay = date.toEpochDay();
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+    }
+
+    private final Clock clock;
+    private volatile Day day;
+
+    public DayClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Clock following the system time in the default time zone.
+     */
+    public static DayClock system() {
+        return new DayClock(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Clock that is always on the given date.
+     */
+    public static DayClock fixed(LocalDate date) {
+        ZoneId zone = ZoneId.systemDefault();
+        return new DayClock(Clock.fixed(date.atStartOfDay(zone).toInstant(), zone));
+    }
+
+    public static DayClock get() {
+        return shared;
+    }
+
+    /**
+     * Replace the shared clock (tests), returning the previous one.
+     */
+    public static DayClock set(DayClock clock) {
+        DayClock previous = shared;
+        shared = clock;
+        return previous;
+    }
+
+    public LocalDate today() {
+        return current().date;
+    }
+
+    public long todayEpochDay() {
+        return current().epochDay;
+    }
+
+    /**
+     * Milliseconds until the date next changes.
+     */
+    public long millisUntilTomorrow() {
+        return Math.max(0, current().endMillis - clock.millis());
+    }
+
+    private Day current() {
+        long now = clock.millis();
+        Day cached = day;
+        // Also recompute if the system clock was set back before the cached day
+        if (cached == null || now >= cached.endMillis || now < cached.startMillis) {
+            ZoneId zone = clock.getZone();
+            LocalDate date = LocalDate.now(clock);
+            cached = new Day(date, date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+            day = cached;
+        }
+        return cached;
+    }
+}
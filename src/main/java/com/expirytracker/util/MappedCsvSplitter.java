@@ -0,0 +1,190 @@
+package com.expirytracker.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Splits a memory-mapped CSV file into chunks that start and end on record
+ * boundaries, so the chunks can be parsed independently in parallel.
+ * <p>
+ * A newline only ends a record when it is outside quotes. Quoting follows
+ * {@link CsvReader}: a {@code "} opens a quoted field only as the first
+ * character of a field, and a stray one inside an unquoted field (as in
+ * {@code 12" pizza}) is literal. That makes the quoted state depend on more
+ * than quote parity, so the scan tracks the reader's four quote states (see
+ * {@link #step}). Each chunk is scanned in parallel from all four possible
+ * starting states, the resulting state maps are chained to find the real
+ * state at each chunk start, and then each boundary is moved forward to the
+ * next newline that ends a record. {@code "}, {@code ,}, {@code \r} and
+ * {@code \n} are single bytes in UTF-8 that never occur inside multi-byte
+ * sequences, so this works on raw bytes.
+ */
+public class MappedCsvSplitter {
+
+    private static final byte QUOTE = '"';
+    private static final byte NEWLINE = '\n';
+
+    // Reader states, as far as quoting is concerned
+    private static final int FIELD_START = 0;  // nothing read in this field yet: a quote opens it
+    private static final int UNQUOTED = 1;     // inside an unquoted field, or after a closing quote: quotes are literal
+    private static final int QUOTED = 2;       // inside quotes: separators and newlines are data
+    private static final int QUOTE_IN_QUOTED = 3; // a quote inside quotes: escaped "" or the closing quote
+    private static final int STATES = 4;
+
+    private MappedCsvSplitter() {
+    }
+
+    /**
+     * Find record-aligned chunk offsets.
+     * @param chunkSize target bytes per chunk
+     * @return ascending offsets, starting with 0 and ending with the file size;
+     *         chunk i is [offsets[i], offsets[i + 1])
+     */
+    public static long[] split(FileChannel channel, long chunkSize, ForkJoinPool pool) throws IOException {
+        long size = channel.size();
+        int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+
+        // Pass 1: end state of each raw chunk for every possible start state, in parallel
+        List<ForkJoinTask<int[]>> stateTasks = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            long start = i * chunkSize;
+            long length = Math.min(chunkSize, size - start);
+            stateTasks.add(pool.submit(() -> endStates(map(channel, start, length))));
+        }
+
+        // Chain the maps: reader state at the start of each raw chunk
+        int[] stateAtStart = new int[chunks];
+        int state = FIELD_START;
+        for (int i = 0; i < chunks; i++) {
+            stateAtStart[i] = state;
+            state = join(stateTasks.get(i))[state];
+        }
+
+        // Pass 2: move each raw boundary to the end of the record it falls in
+        List<ForkJoinTask<Long>> boundaryTasks = new ArrayList<>(chunks);
+        for (int i = 1; i < chunks; i++) {
+            long start = i * chunkSize;
+            int startState = stateAtStart[i];
+            boundaryTasks.add(pool.submit(() -> nextRecordStart(channel, start, startState, size, chunkSize)));
+        }
+
+        List<Long> offsets = new ArrayList<>(chunks + 1);
+        offsets.add(0L);
+        for (ForkJoinTask<Long> task : boundaryTasks) {
+            long boundary = join(task);
+            // A huge quoted field can swallow several raw boundaries
+            if (boundary > offsets.get(offsets.size() - 1) && boundary < size) {
+                offsets.add(boundary);
+            }
+        }
+        offsets.add(size);
+        return offsets.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Map a read-only region of the file.
+     */
+    public static MappedByteBuffer map(FileChannel channel, long start, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Input stream over a byte buffer, for decoding a mapped chunk with a Reader.
+     */
+    public static InputStream asInputStream(ByteBuffer buffer) {
+        return new InputStream() {
+            @Override
+            public int read() {
+                return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (!buffer.hasRemaining()) return -1;
+                int n = Math.min(len, buffer.remaining());
+                buffer.get(b, off, n);
+                return n;
+            }
+
+            @Override
+            public int available() {
+                return buffer.remaining();
+            }
+        };
+    }
+
+    /**
+     * Reader state after one byte, mirroring {@link CsvReader#next()}.
+     */
+    private static int step(int state, byte b) {
+        boolean separator = b == ',' || b == NEWLINE || b == '\r';
+        switch (state) {
+            case FIELD_START:
+                return b == QUOTE ? QUOTED : separator ? FIELD_START : UNQUOTED;
+            case UNQUOTED:
+                return separator ? FIELD_START : UNQUOTED;
+            case QUOTED:
+                return b == QUOTE ? QUOTE_IN_QUOTED : QUOTED;
+            default: // QUOTE_IN_QUOTED
+                return b == QUOTE ? QUOTED : separator ? FIELD_START : UNQUOTED;
+        }
+    }
+
+    /**
+     * State at the end of the buffer for each possible state at its start.
+     */
+    private static int[] endStates(ByteBuffer buffer) {
+        int[] states = new int[STATES];
+        for (int s = 0; s < STATES; s++) {
+            states[s] = s;
+        }
+        int limit = buffer.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+            for (int s = 0; s < STATES; s++) {
+                states[s] = step(states[s], b);
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Offset just past the first record-ending newline at or after {@code from}, or the file size.
+     */
+    private static long nextRecordStart(FileChannel channel, long from, int state, long size, long window) {
+        long position = from;
+        while (position < size) {
+            long length = Math.min(window, size - position);
+            ByteBuffer buffer = map(channel, position, length);
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(i);
+                if (b == NEWLINE && state != QUOTED) {
+                    return position + i + 1;
+                }
+                state = step(state, b);
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
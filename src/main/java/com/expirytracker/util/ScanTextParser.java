@@ -0,0 +1,146 @@
+package com.expirytracker.util;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Turns OCR text from a product label into item fields: name, expiry date
+ * and a suggested category. Shared by the single-image and batch scan dialogs.
+ */
+public class ScanTextParser {
+
+    /** Shelf life assumed when only a manufacture date is found. */
+    public static final int DEFAULT_SHELF_LIFE_MONTHS = 6;
+
+    // Checked in order; the first category with a matching keyword wins
+    private static final Map<String, List<String>> CATEGORY_KEYWORDS = new LinkedHashMap<>();
+
+    static {
+        CATEGORY_KEYWORDS.put("Dairy & Eggs", List.of("MILK", "DAIRY", "CHEESE", "YOGURT", "BUTTER", "CREAM", "EGG"));
+        CATEGORY_KEYWORDS.put("Meat & Poultry", List.of("MEAT", "CHICKEN", "BEEF", "PORK", "LAMB", "TURKEY", "SAUSAGE", "BACON"));
+        CATEGORY_KEYWORDS.put("Seafood", List.of("FISH", "SEAFOOD", "SALMON", "TUNA", "SHRIMP", "PRAWN"));
+        CATEGORY_KEYWORDS.put("Vegetables", List.of("VEGETABLE", "VEGGIE", "LETTUCE", "TOMATO", "CARROT", "SPINACH"));
+        CATEGORY_KEYWORDS.put("Fruits", List.of("FRUIT", "APPLE", "ORANGE", "BANANA", "BERRY", "GRAPE"));
+        CATEGORY_KEYWORDS.put("Beverages", List.of("JUICE", "DRINK", "BEVERAGE", "SODA", "WATER", "TEA", "COFFEE"));
+        CATEGORY_KEYWORDS.put("Bread & Bakery", List.of("BREAD", "BAKERY", "CAKE", "PASTRY", "ROLL", "BAGEL"));
+        CATEGORY_KEYWORDS.put("Canned Goods", List.of("CANNED", "CAN", "TINNED"));
+        CATEGORY_KEYWORDS.put("Frozen Foods", List.of("FROZEN", "FREEZE"));
+        CATEGORY_KEYWORDS.put("Snacks & Sweets", List.of("SNACK", "CHIP", "CANDY", "CHOCOLATE", "COOKIE", "BISCUIT"));
+        CATEGORY_KEYWORDS.put("Condiments & Sauces", List.of("SAUCE", "KETCHUP", "MAYO", "MUSTARD", "DRESSING", "CONDIMENT"));
+        CATEGORY_KEYWORDS.put("Baby Food", List.of("BABY", "INFANT", "FORMULA"));
+        CATEGORY_KEYWORDS.put("Pet Food", List.of("PET", "DOG", "CAT", "ANIMAL"));
+        CATEGORY_KEYWORDS.put("Supplements & Vitamins", List.of("VITAMIN", "SUPPLEMENT", "MINERAL", "CAPSULE", "TABLET"));
+    }
+
+    /**
+     * Fields extracted from one label. Any of them may be null.
+     */
+    public static class Result {
+        private final String productName;
+        private final LocalDate expiryDate;
+        private final LocalDate manufactureDate;
+        private final String category;
+
+        Result(String productName, LocalDate expiryDate, LocalDate manufactureDate, String category) {
+            this.productName = productName;
+            this.expiryDate = expiryDate;
+            this.manufactureDate = manufactureDate;
+            this.category = category;
+        }
+
+        public String getProductName() {
+            return productName;
+        }
+
+        /**
+         * The expiry date, or an estimate when only a manufacture date was found.
+         */
+        public LocalDate getExpiryDate() {
+            return expiryDate;
+        }
+
+        /**
+         * The manufacture date if the date found was labelled as one, else null.
+         */
+        public LocalDate getManufactureDate() {
+            return manufactureDate;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        /**
+         * Note explaining an estimated expiry date, or null.
+         */
+        public String getNotes() {
+            if (manufactureDate == null) {
+                return null;
+            }
+            return "Manufacture date detected: " + manufactureDate
+                    + "\nEstimated expiry (" + DEFAULT_SHELF_LIFE_MONTHS + " months added)";
+        }
+    }
+
+    private ScanTextParser() {
+    }
+
+    /**
+     * Extract item fields from OCR text.
+     */
+    public static Result parse(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return new Result(null, null, null, null);
+        }
+
+        String productName = DateParser.extractProductName(text);
+        if (productName != null && productName.isEmpty()) {
+            productName = null;
+        }
+
+        LocalDate expiryDate = null;
+        LocalDate manufactureDate = null;
+        Optional<LocalDate> date = DateParser.parseDateFromText(text);
+        if (date.isPresent()) {
+            if (isManufactureDate(text)) {
+                // Manufacture date detected - add default shelf life
+                manufactureDate = date.get();
+                expiryDate = manufactureDate.plusMonths(DEFAULT_SHELF_LIFE_MONTHS);
+            } else {
+                // Likely an expiry date
+                expiryDate = date.get();
+            }
+        }
+
+        return new Result(productName, expiryDate, manufactureDate, suggestCategory(text));
+    }
+
+    /**
+     * Suggest a standard category from keywords in the text.
+     * @return the category, or null if no keyword matches
+     */
+    public static String suggestCategory(String text) {
+        if (text == null) {
+            return null;
+        }
+        String textUpper = text.toUpperCase(Locale.ROOT);
+        for (Map.Entry<String, List<String>> entry : CATEGORY_KEYWORDS.entrySet()) {
+            for (String keyword : entry.getValue()) {
+                if (textUpper.contains(keyword)) {
+                    return entry.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isManufactureDate(String text) {
+        String textUpper = text.toUpperCase(Locale.ROOT);
+        return textUpper.contains("MFG") || textUpper.contains("MANUFAC")
+                || textUpper.contains("MFD") || textUpper.contains("PRODUCTION");
+    }
+}
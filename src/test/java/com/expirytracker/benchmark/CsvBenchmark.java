@@ -0,0 +1,162 @@
+package com.expirytracker.benchmark;
+
+import com.expirytracker.model.Item;
+import com.expirytracker.util.CsvUtil;
+import com.expirytracker.util.CsvWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: CsvReader/CsvWriter against the original line-based CsvUtil code.
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.expirytracker.benchmark.CsvBenchmark
+ * Add {@code -Dexec.args="-prof gc"} to see allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class CsvBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private File csvFile;
+    private List<Item> items;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        items = new ArrayList<>(rows);
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            items.add(new Item("Item " + i, "Dairy & Eggs", base.plusDays(i % 365), base.plusDays(30 + i % 400),
+                    1 + i % 5, i % 10 == 0 ? "Opened, keep \"cold\"" : "", null));
+        }
+        csvFile = Files.createTempFile("csv-bench", ".csv").toFile();
+        csvFile.deleteOnExit();
+        CsvUtil.exportToCsv(items, csvFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        csvFile.delete();
+    }
+
+    @Benchmark
+    public void readCsvReader(Blackhole bh) throws IOException {
+        try (Reader reader = new InputStreamReader(new FileInputStream(csvFile), StandardCharsets.UTF_8)) {
+            CsvUtil.readItems(reader, bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void readLegacy(Blackhole bh) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(csvFile, StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                bh.consume(LegacyCsv.csvLineToItem(line));
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeCsvWriter() throws IOException {
+        try (CsvWriter writer = new CsvWriter(Writer.nullWriter())) {
+            CsvUtil.writeHeader(writer);
+            for (Item item : items) {
+                CsvUtil.writeItem(writer, item);
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeLegacy() {
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(Writer.nullWriter()))) {
+            writer.println("Name,Category,Purchase Date,Expiry Date,Quantity,Notes,Image Path");
+            for (Item item : items) {
+                writer.println(LegacyCsv.itemToCsvLine(item));
+            }
+        }
+    }
+
+    /**
+     * The pre-CsvReader implementation, kept here as the baseline.
+     */
+    static class LegacyCsv {
+        static String itemToCsvLine(Item item) {
+            return String.format("\"%s\",\"%s\",\"%s\",\"%s\",%d,\"%s\",\"%s\"",
+                    escapeQuotes(item.getName()),
+                    escapeQuotes(item.getCategory()),
+                    item.getPurchaseDate() != null ? item.getPurchaseDate().toString() : "",
+                    item.getExpiryDate() != null ? item.getExpiryDate().toString() : "",
+                    item.getQuantity(),
+                    escapeQuotes(item.getNotes()),
+                    escapeQuotes(item.getImagePath()));
+        }
+
+        static Item csvLineToItem(String line) {
+            List<String> fields = parseCsvLine(line);
+            if (fields.size() < 5) return null;
+            Item item = new Item();
+            item.setName(fields.get(0));
+            item.setCategory(fields.get(1));
+            if (!fields.get(2).isEmpty()) item.setPurchaseDate(LocalDate.parse(fields.get(2)));
+            if (!fields.get(3).isEmpty()) item.setExpiryDate(LocalDate.parse(fields.get(3)));
+            try {
+                item.setQuantity(Integer.parseInt(fields.get(4)));
+            } catch (NumberFormatException e) {
+                item.setQuantity(1);
+            }
+            if (fields.size() > 5) item.setNotes(fields.get(5));
+            if (fields.size() > 6) item.setImagePath(fields.get(6));
+            return item;
+        }
+
+        static List<String> parseCsvLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder currentField = new StringBuilder();
+            boolean inQuotes = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    inQuotes = !inQuotes;
+                } else if (c == ',' && !inQuotes) {
+                    fields.add(currentField.toString());
+                    currentField = new StringBuilder();
+                } else {
+                    currentField.append(c);
+                }
+            }
+            fields.add(currentField.toString());
+            return fields;
+        }
+
+        static String escapeQuotes(String text) {
+            return text == null ? "" : text.replace("\"", "\"\"");
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.include(CsvBenchmark.class.getSimpleName());
+        if (args.length == 2 && "-prof".equals(args[0])) {
+            builder.addProfiler(args[1]);
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.expirytracker.benchmark;
+
+import com.expirytracker.model.ColumnarItemStore;
+import com.expirytracker.model.Item;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retained heap of a {@code List<Item>} versus a {@link ColumnarItemStore}
+ * holding the same items. JMH measures time, not retained size, so this is a
+ * plain main that compares used heap after full GCs.
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.expirytracker.benchmark.ItemStoreHeapBenchmark -Dexec.args="1000000"
+ */
+public class ItemStoreHeapBenchmark {
+
+    private static final String[] CATEGORIES = {
+        "Dairy & Eggs", "Meat & Seafood", "Produce", "Bakery", "Pantry", "Frozen", "Beverages", "Household"
+    };
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        long baseline = usedHeap();
+        List<Item> items = generate(rows);
+        long listBytes = usedHeap() - baseline;
+
+        ColumnarItemStore store = new ColumnarItemStore(rows);
+        store.addAll(items);
+        store.trimToSize();
+        items = null;
+        long storeBytes = usedHeap() - baseline;
+
+        System.out.printf("%,d items%n", rows);
+        System.out.printf("  List<Item>         %,15d bytes  (%.0f bytes/item)%n", listBytes, (double) listBytes / rows);
+        System.out.printf("  ColumnarItemStore  %,15d bytes  (%.0f bytes/item, estimated %,d)%n",
+                storeBytes, (double) storeBytes / rows, store.estimatedBytes());
+        System.out.printf("  Heap per million items: %.1f MB -> %.1f MB%n",
+                listBytes * 1e6 / rows / (1 << 20), storeBytes * 1e6 / rows / (1 << 20));
+
+        // Keep the store reachable until after the measurement
+        System.out.println("  (" + store.size() + " rows retained)");
+    }
+
+    private static List<Item> generate(int rows) {
+        List<Item> items = new ArrayList<>(rows);
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            Item item = new Item("Item " + i, CATEGORIES[i % CATEGORIES.length], base.plusDays(i % 365),
+                    base.plusDays(30 + i % 400), 1 + i % 5, i % 10 == 0 ? "Opened, keep cold" : "", null);
+            item.setId(i + 1);
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
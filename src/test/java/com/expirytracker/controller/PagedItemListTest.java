@@ -0,0 +1,88 @@
+package com.expirytracker.controller;
+
+import com.expirytracker.database.DatabaseConfig;
+import com.expirytracker.database.DatabaseManager;
+import com.expirytracker.database.ItemDAO;
+import com.expirytracker.model.Item;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteConfig;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the database-backed PagedItemList.
+ */
+public class PagedItemListTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseManager dbManager;
+    private ItemDAO itemDAO;
+
+    @BeforeEach
+    public void setUp() {
+        DatabaseConfig config = new DatabaseConfig(tempDir.resolve("test.db").toString(),
+                2, 2000, SQLiteConfig.SynchronousMode.NORMAL, -2000, 0, 16);
+        dbManager = new DatabaseManager(config);
+        itemDAO = new ItemDAO(dbManager);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(new Item(String.format("Item %03d", i), "Pantry", LocalDate.now(),
+                    LocalDate.now().plusDays(i), 1, "", null));
+        }
+        itemDAO.insertAll(items);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dbManager.close();
+    }
+
+    @Test
+    public void testScrollingUsesKeysetPagesAndEvictsOldOnes() {
+        PagedItemList list = new PagedItemList(itemDAO, 10, 3);
+        list.reload();
+        assertEquals(100, list.size());
+
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(String.format("Item %03d", i), list.get(i).getName());
+        }
+        assertEquals(3, list.getCachedPageCount(), "Only the most recent pages should stay in memory");
+        assertEquals(10, list.getKeysetLoads());
+        assertEquals(0, list.getOffsetLoads());
+
+        // Jumping back to an evicted page can still seek from the stored anchor
+        assertEquals("Item 055", list.get(55).getName());
+        assertEquals(0, list.getOffsetLoads());
+    }
+
+    @Test
+    public void testSortIsPushedDownAndReloadNotifiesListeners() {
+        PagedItemList list = new PagedItemList(itemDAO, 10, 3);
+        list.reload();
+        List<ListChangeListener.Change<? extends Item>> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<Item>) changes::add);
+
+        list.setSort(ItemDAO.SortColumn.NAME, false);
+        assertEquals("Item 099", list.get(0).getName());
+        assertEquals("Item 000", list.get(99).getName(), "A jump to the last page falls back to OFFSET");
+        assertEquals(1, list.getOffsetLoads());
+        assertEquals(1, changes.size());
+
+        itemDAO.delete(list.get(0).getId());
+        list.reload();
+        assertEquals(99, list.size());
+        assertEquals("Item 098", list.get(0).getName());
+    }
+}
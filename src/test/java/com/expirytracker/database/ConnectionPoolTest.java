@@ -0,0 +1,71 @@
+package com.expirytracker.database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ConnectionPool.
+ */
+public class ConnectionPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testFailedReplacementKeepsSlot() throws Exception {
+        Path dbFile = tempDir.resolve("pool.db");
+        String url = "jdbc:sqlite:" + dbFile;
+        DriverManager.getConnection(url).close();
+        SQLiteConfig readOnly = new SQLiteConfig();
+        readOnly.setReadOnly(true);
+        ConnectionPool pool = new ConnectionPool(url, readOnly, 1, 200);
+
+        Connection connection = pool.borrow();
+        connection.close();
+        pool.release(connection);
+
+        // A read-only connection cannot be reopened while the file is missing
+        Files.delete(dbFile);
+        SQLException error = assertThrows(SQLException.class, pool::borrow);
+        assertFalse(error.getMessage().contains("Timed out"), "Slot should not be lost");
+
+        DriverManager.getConnection(url).close();
+        Connection replacement = pool.borrow();
+        assertFalse(replacement.isClosed());
+        assertEquals(1, pool.size());
+        pool.release(replacement);
+        pool.close();
+    }
+
+    @Test
+    public void testDiscardedConnectionsAreReported() throws Exception {
+        String url = "jdbc:sqlite:" + tempDir.resolve("pool.db");
+        DriverManager.getConnection(url).close();
+        List<Connection> discarded = new ArrayList<>();
+        ConnectionPool pool = new ConnectionPool(url, new SQLiteConfig(), 2, 200, discarded::add);
+
+        Connection connection = pool.borrow();
+        connection.close();
+        pool.release(connection);
+        Connection other = pool.borrow();
+        Connection replacement = pool.borrow();
+        assertEquals(List.of(connection), discarded);
+
+        pool.release(other);
+        pool.release(replacement);
+        pool.close();
+        assertEquals(3, discarded.size());
+        assertTrue(discarded.containsAll(List.of(other, replacement)));
+    }
+}
@@ -0,0 +1,233 @@
+package com.expirytracker.database;
+
+import com.expirytracker.model.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteConfig;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ItemDAO against a throwaway SQLite database.
+ */
+public class ItemDAOTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseManager dbManager;
+    private ItemDAO itemDAO;
+
+    @BeforeEach
+    public void setUp() {
+        DatabaseConfig config = new DatabaseConfig(tempDir.resolve("test.db").toString(),
+                2, 2000, SQLiteConfig.SynchronousMode.NORMAL, -2000, 0, 16);
+        dbManager = new DatabaseManager(config);
+        itemDAO = new ItemDAO(dbManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dbManager.close();
+    }
+
+    private static Item item(String name, LocalDate expiry) {
+        return new Item(name, "Dairy & Eggs", LocalDate.now(), expiry, 1, "", null);
+    }
+
+    @Test
+    public void testDatabaseUsesWal() throws Exception {
+        String mode = dbManager.read(conn -> {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        });
+        assertEquals("wal", mode);
+    }
+
+    @Test
+    public void testInsertAndFind() {
+        Item milk = item("Milk", LocalDate.now().plusDays(3));
+        assertTrue(itemDAO.insert(milk));
+        assertTrue(milk.getId() > 0, "Insert should assign an id");
+
+        Item found = itemDAO.findById(milk.getId());
+        assertNotNull(found);
+        assertEquals("Milk", found.getName());
+        assertEquals(milk.getExpiryDate(), found.getExpiryDate());
+    }
+
+    @Test
+    public void testUpdateAndDelete() {
+        Item bread = item("Bread", LocalDate.now().plusDays(2));
+        itemDAO.insert(bread);
+
+        bread.setName("Rye Bread");
+        assertTrue(itemDAO.update(bread));
+        assertEquals("Rye Bread", itemDAO.findById(bread.getId()).getName());
+
+        assertTrue(itemDAO.delete(bread.getId()));
+        assertNull(itemDAO.findById(bread.getId()));
+    }
+
+    @Test
+    public void testReadsSeeCommittedWritesAcrossConnections() {
+        itemDAO.insert(item("Cheese", LocalDate.now().plusDays(30)));
+        itemDAO.insert(item("Yogurt", LocalDate.now().plusDays(5)));
+
+        List<Item> all = itemDAO.findAll();
+        assertEquals(2, all.size());
+        assertEquals("Yogurt", all.get(0).getName(), "Items should be ordered by expiry date");
+
+        List<Item> expiring = itemDAO.findExpiringWithinDays(7);
+        assertEquals(1, expiring.size());
+        assertEquals(1, itemDAO.search("chee").size());
+    }
+
+    @Test
+    public void testFullTextSearchFollowsInsertsUpdatesAndDeletes() {
+        Item milk = item("Chocolate Milk", LocalDate.now().plusDays(3));
+        milk.setNotes("Organic, from the farm shop");
+        itemDAO.insert(milk);
+        itemDAO.insert(item("Milk", LocalDate.now().plusDays(4)));
+
+        assertEquals(1, itemDAO.search("choc mi").size(), "All words must match as prefixes");
+        assertEquals(1, itemDAO.search("organic").size(), "Notes should be searchable");
+        assertEquals("Milk", itemDAO.search("milk").get(0).getName(), "Exact name match should rank first");
+        assertEquals(2, itemDAO.search("milk\"").size(), "FTS syntax in the input must be treated as text");
+
+        milk.setName("Oat Drink");
+        itemDAO.update(milk);
+        assertEquals(1, itemDAO.search("milk").size());
+        assertEquals(1, itemDAO.search("oat").size());
+
+        itemDAO.delete(milk.getId());
+        assertEquals(0, itemDAO.search("oat").size());
+    }
+
+    @Test
+    public void testKeysetPagesMatchFullSortInBothDirections() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            // Every fourth item has no expiry, and dates repeat to force id tie-breaks
+            items.add(item("Item " + i, i % 4 == 0 ? null : LocalDate.now().plusDays(i % 5)));
+        }
+        itemDAO.insertAll(items);
+
+        for (ItemDAO.SortColumn column : ItemDAO.SortColumn.values()) {
+            for (boolean ascending : new boolean[] {true, false}) {
+                List<Integer> keyset = new ArrayList<>();
+                Item last = null;
+                List<Item> page;
+                do {
+                    page = itemDAO.findPageAfter(column, ascending, last, 5);
+                    page.forEach(item -> keyset.add(item.getId()));
+                    last = page.isEmpty() ? null : page.get(page.size() - 1);
+                } while (page.size() == 5);
+
+                List<Integer> offset = new ArrayList<>();
+                for (int start = 0; start < 23; start += 5) {
+                    itemDAO.findPageAt(column, ascending, start, 5).forEach(item -> offset.add(item.getId()));
+                }
+                assertEquals(23, keyset.size(), column + " ascending=" + ascending);
+                assertEquals(offset, keyset, column + " ascending=" + ascending);
+            }
+        }
+    }
+
+    @Test
+    public void testCategoryPagesSortByNameNotId() {
+        // Created in non-alphabetical order, and after the seeded standard categories
+        String[] categories = {"Zucchini Box", "apples", "Beverages", null, "Dairy & Eggs", "zucchini box", "Apples"};
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            items.add(new Item("Item " + i, categories[i % categories.length], LocalDate.now(), null, 1, "", null));
+        }
+        itemDAO.insertAll(items);
+
+        Comparator<Item> byName = Comparator.comparing(Item::getCategory,
+                Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)).thenComparingInt(Item::getId);
+        for (boolean ascending : new boolean[] {true, false}) {
+            List<Item> expected = new ArrayList<>(items);
+            expected.sort(ascending ? byName : byName.reversed());
+
+            List<Integer> keyset = new ArrayList<>();
+            Item last = null;
+            List<Item> page;
+            do {
+                page = itemDAO.findPageAfter(ItemDAO.SortColumn.CATEGORY, ascending, last, 3);
+                page.forEach(item -> keyset.add(item.getId()));
+                last = page.isEmpty() ? null : page.get(page.size() - 1);
+            } while (page.size() == 3);
+
+            assertEquals(expected.stream().map(Item::getId).toList(), keyset, "ascending=" + ascending);
+            assertEquals(expected.subList(6, 9).stream().map(Item::getId).toList(),
+                    itemDAO.findPageAt(ItemDAO.SortColumn.CATEGORY, ascending, 6, 3).stream().map(Item::getId).toList());
+        }
+    }
+
+    @Test
+    public void testCategoriesAreSharedDictionaryEntries() {
+        Item cheese = item("Cheese", LocalDate.now().plusDays(20));
+        Item stew = new Item("Stew", "Leftovers", LocalDate.now(), LocalDate.now().plusDays(2), 1, "", null);
+        Item soup = new Item("Soup", "leftovers", LocalDate.now(), LocalDate.now().plusDays(3), 1, "", null);
+        itemDAO.insert(cheese);
+        itemDAO.insertAll(List.of(stew, soup));
+
+        List<Item> loaded = itemDAO.findByCategory("LEFTOVERS");
+        assertEquals(2, loaded.size(), "Category names match case-insensitively");
+        assertSame(loaded.get(0).getCategory(), loaded.get(1).getCategory(), "Loaded items share one String");
+        assertSame(loaded.get(0).getCategory(), soup.getCategory(), "Inserted items are interned too");
+        assertEquals("Leftovers", soup.getCategory());
+
+        assertEquals(Map.of("Dairy & Eggs", 1, "Leftovers", 2), itemDAO.countByCategory());
+        assertEquals(1, itemDAO.search("dairy").size(), "Category names stay searchable");
+
+        stew.setCategory("Frozen Foods");
+        itemDAO.update(stew);
+        assertEquals(1, itemDAO.search("frozen").size());
+    }
+
+    @Test
+    public void testStatementsAreReusedFromCache() {
+        Item eggs = item("Eggs", LocalDate.now().plusDays(10));
+        itemDAO.insert(eggs);
+
+        long hitsBefore = dbManager.getStatementCacheStats().getHits();
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(itemDAO.findById(eggs.getId()));
+        }
+        long hits = dbManager.getStatementCacheStats().getHits() - hitsBefore;
+        assertTrue(hits >= 8, "Repeated lookups should hit the statement cache, got " + hits);
+    }
+
+    @Test
+    public void testInsertAllAssignsIdsAcrossChunks() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            items.add(item("Item " + i, LocalDate.now().plusDays(i)));
+        }
+
+        BulkInsertResult result = itemDAO.insertAll(items, 10);
+        assertEquals(25, result.getInserted());
+        assertEquals(25, itemDAO.findAll().size());
+
+        for (Item item : items) {
+            Item stored = itemDAO.findById(item.getId());
+            assertNotNull(stored, "Generated id should match the stored row");
+            assertEquals(item.getName(), stored.getName());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.expirytracker.database;
+
+import com.expirytracker.model.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteConfig;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the write-through ItemRepository cache.
+ */
+public class ItemRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseManager dbManager;
+    private ItemDAO itemDAO;
+    private ItemRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        DatabaseConfig config = new DatabaseConfig(tempDir.resolve("test.db").toString(),
+                2, 2000, SQLiteConfig.SynchronousMode.NORMAL, -2000, 0, 16);
+        dbManager = new DatabaseManager(config);
+        itemDAO = new ItemDAO(dbManager);
+        repository = new ItemRepository(itemDAO);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dbManager.close();
+    }
+
+    private static Item item(String name, LocalDate expiry) {
+        return new Item(name, "Pantry", LocalDate.now(), expiry, 1, "", null);
+    }
+
+    @Test
+    public void testWritesAreVisibleInCacheAndDatabase() {
+        Item rice = item("Rice", LocalDate.now().plusDays(300));
+        Item salt = item("Salt", null);
+        assertTrue(repository.insert(rice));
+        assertTrue(repository.insert(salt));
+
+        List<Item> all = repository.findAll();
+        assertEquals(List.of("Salt", "Rice"), all.stream().map(Item::getName).toList(),
+                "Items without expiry come first, like the SQL ordering");
+        assertSame(all.get(1), repository.findById(rice.getId()), "Reads should be served from the cached instance");
+
+        rice.setExpiryDate(LocalDate.now().plusDays(2));
+        assertTrue(repository.update(rice));
+        assertEquals(1, repository.findExpiringWithinDays(7).size());
+        assertEquals(rice.getExpiryDate(), itemDAO.findById(rice.getId()).getExpiryDate());
+
+        assertTrue(repository.delete(salt.getId()));
+        assertNull(repository.findById(salt.getId()));
+        assertEquals(1, itemDAO.count());
+    }
+
+    @Test
+    public void testExpiryQueriesMatchDatabaseAndFollowWrites() {
+        LocalDate today = LocalDate.now();
+        Item yoghurt = item("Yoghurt", today.minusDays(3));
+        Item bread = item("Bread", today);
+        Item cheese = item("Cheese", today.plusDays(10));
+        Item rice = item("Rice", today.plusDays(200));
+        repository.insertAll(List.of(yoghurt, bread, cheese, rice, item("Salt", null)));
+        ItemRepository uncached = new ItemRepository(itemDAO, 0);
+
+        for (ItemRepository repo : List.of(repository, uncached)) {
+            assertEquals(List.of("Yoghurt"), repo.findExpired().stream().map(Item::getName).toList());
+            assertEquals(List.of("Bread", "Cheese"),
+                    repo.findExpiringWithinDays(14).stream().map(Item::getName).toList());
+            assertEquals("Bread", repo.findNextExpiring().getName());
+            assertEquals(1, repo.countExpired());
+            assertEquals(2, repo.countExpiringWithinDays(14));
+        }
+
+        // The index must move an item whose date was changed in place
+        bread.setExpiryDate(today.minusDays(1));
+        assertTrue(repository.update(bread));
+        assertTrue(repository.delete(yoghurt.getId()));
+        assertEquals("Cheese", repository.findNextExpiring().getName());
+        assertEquals(List.of("Bread"), repository.findExpired().stream().map(Item::getName).toList());
+        assertEquals(1, repository.countExpiringWithinDays(14));
+    }
+
+    @Test
+    public void testCategoryFiltersUseSharedInstances() {
+        repository.insert(item("Rice", null));
+        repository.insert(new Item("Peas", "Frozen Foods", null, null, 1, "", null));
+        repository.invalidate();
+
+        assertEquals(1, repository.findByCategory(new String("pantry")).size());
+        assertEquals(Map.of("Pantry", 1, "Frozen Foods", 1), repository.countByCategory());
+    }
+
+    @Test
+    public void testInvalidateReloadsBulkChangesMadeThroughDao() {
+        repository.insert(item("Flour", LocalDate.now().plusDays(60)));
+        assertEquals(1, repository.count());
+
+        itemDAO.insertAll(List.of(item("Sugar", null), item("Oats", null)));
+        assertEquals(1, repository.count(), "Direct DAO writes are not seen until invalidated");
+
+        repository.invalidate();
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    public void testBlankSearchIsServedFromCache() {
+        int[] databaseReads = new int[1];
+        ItemDAO countingDAO = new ItemDAO(dbManager) {
+            @Override
+            public List<Item> findAll() {
+                databaseReads[0]++;
+                return super.findAll();
+            }
+
+            @Override
+            public List<Item> search(String keyword) {
+                databaseReads[0]++;
+                return super.search(keyword);
+            }
+        };
+        ItemRepository cached = new ItemRepository(countingDAO);
+        cached.insert(item("Honey", null));
+        cached.insert(item("Tea", LocalDate.now().plusDays(90)));
+        List<Item> all = cached.findAll();
+        int readsAfterLoad = databaseReads[0];
+
+        assertSame(all, cached.search(""));
+        assertSame(all, cached.search("   "));
+        assertSame(all, cached.search(null));
+        assertSame(all, cached.search("?!"), "Input without words lists everything");
+        assertEquals(readsAfterLoad, databaseReads[0], "Blank searches must not query the database");
+
+        assertEquals(List.of("Tea"), cached.search("te").stream().map(Item::getName).toList());
+        assertEquals(readsAfterLoad + 1, databaseReads[0]);
+    }
+}
@@ -0,0 +1,97 @@
+package com.expirytracker.database;
+
+import com.expirytracker.model.Item;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteConfig;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SchemaMigrator.
+ */
+public class SchemaMigratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static DatabaseConfig config(Path dbFile) {
+        return new DatabaseConfig(dbFile.toString(), 1, 2000, SQLiteConfig.SynchronousMode.NORMAL, -2000, 0, 16);
+    }
+
+    @Test
+    public void testFreshDatabaseReachesLatestVersionAndUsesIndexes() throws Exception {
+        DatabaseManager dbManager = new DatabaseManager(config(tempDir.resolve("fresh.db")));
+        try {
+            dbManager.write(conn -> {
+                assertEquals(SchemaMigrator.latestVersion(), SchemaMigrator.getUserVersion(conn));
+                assertTrue(SchemaMigrator.verifyQueryPlans(conn).isEmpty(), "Hot queries should use indexes");
+                return null;
+            });
+        } finally {
+            dbManager.close();
+        }
+    }
+
+    @Test
+    public void testLegacyDatabaseIsUpgradedInPlace() throws Exception {
+        Path dbFile = tempDir.resolve("legacy.db");
+
+        // A database as created by the first release: items table, user_version 0
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE items (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    name TEXT NOT NULL,
+                    category TEXT,
+                    purchase_date TEXT,
+                    expiry_date TEXT,
+                    quantity INTEGER DEFAULT 1,
+                    notes TEXT,
+                    image_path TEXT
+                )
+            """);
+            stmt.execute("INSERT INTO items (name, category, purchase_date, expiry_date, quantity) "
+                    + "VALUES ('Milk', 'Dairy & Eggs', '2025-01-01', '2025-01-08', 2)");
+            stmt.execute("INSERT INTO items (name, category, quantity) VALUES ('Kombucha', 'Home Brew ', 1)");
+            // Leave a gap at the end of the id sequence
+            stmt.execute("INSERT INTO items (id, name) VALUES (5, 'Deleted')");
+            stmt.execute("DELETE FROM items WHERE id = 5");
+        }
+
+        DatabaseManager dbManager = new DatabaseManager(config(dbFile));
+        try {
+            ItemDAO itemDAO = new ItemDAO(dbManager);
+            assertEquals(2, itemDAO.count(), "Existing rows must survive the migration");
+            assertEquals("Milk", itemDAO.findById(1).getName());
+            assertEquals("Dairy & Eggs", itemDAO.findById(1).getCategory());
+            assertEquals(LocalDate.of(2025, 1, 8), itemDAO.findById(1).getExpiryDate(), "ISO text dates become epoch days");
+            assertNull(itemDAO.findById(2).getExpiryDate());
+            assertEquals("Home Brew", itemDAO.findById(2).getCategory(), "Custom categories become dictionary entries");
+            assertEquals(1, itemDAO.search("brew").size(), "Full-text index must be rebuilt over the new schema");
+            dbManager.write(conn -> {
+                assertEquals(SchemaMigrator.latestVersion(), SchemaMigrator.getUserVersion(conn));
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT typeof(expiry_date) FROM items WHERE id = 1")) {
+                    assertEquals("integer", rs.next() ? rs.getString(1) : null);
+                }
+                return null;
+            });
+
+            // Deleted ids must not be handed out again after the table rebuild
+            Item yogurt = new Item("Yogurt", "Dairy & Eggs", null, LocalDate.of(2025, 2, 1), 1, "", null);
+            assertTrue(itemDAO.insert(yogurt));
+            assertEquals(6, yogurt.getId());
+        } finally {
+            dbManager.close();
+        }
+    }
+}
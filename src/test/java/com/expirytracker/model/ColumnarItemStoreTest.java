@@ -0,0 +1,62 @@
+package com.expirytracker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ColumnarItemStore.
+ */
+public class ColumnarItemStoreTest {
+
+    @Test
+    public void testItemsRoundTripThroughColumns() {
+        Item milk = new Item("Milk", "Dairy & Eggs", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 8), 2, "", null);
+        milk.setId(7);
+        Item salt = new Item("Sel de Guérande", null, null, null, 1, null, "/img/salt.png");
+        salt.setId(8);
+
+        ColumnarItemStore store = new ColumnarItemStore(1);
+        store.add(milk);
+        store.add(salt);
+        store.trimToSize();
+
+        assertEquals(2, store.size());
+        Item first = store.get(0);
+        assertEquals(7, first.getId());
+        assertEquals("Milk", first.getName());
+        assertEquals("Dairy & Eggs", first.getCategory());
+        assertEquals(LocalDate.of(2025, 1, 8), first.getExpiryDate());
+        assertEquals("", first.getNotes(), "Empty strings must stay distinct from null");
+        assertNull(first.getImagePath());
+
+        Item second = store.asList().get(1);
+        assertEquals("Sel de Guérande", second.getName());
+        assertNull(second.getCategory());
+        assertNull(second.getExpiryDate());
+        assertNull(second.getNotes());
+        assertEquals("/img/salt.png", second.getImagePath());
+        assertEquals(ColumnarItemStore.NO_DATE, store.getExpiryEpochDay(1));
+    }
+
+    @Test
+    public void testCategoriesAreDictionaryEncodedAndColumnsAggregate() {
+        ColumnarItemStore store = new ColumnarItemStore(4);
+        LocalDate today = LocalDate.of(2025, 6, 1);
+        for (int i = 0; i < 1000; i++) {
+            store.add(new Item("Item " + i, i % 2 == 0 ? "Pantry" : "Frozen", today, today.plusDays(i % 30), 1, "", null));
+        }
+
+        assertEquals(2, store.getCategoryCount());
+        assertEquals("Frozen", store.getCategory(999));
+        // Days 0-6 out of a 30-day cycle
+        assertEquals(7 * 33 + 7, store.countExpiringBetween(today.toEpochDay(), today.plusDays(6).toEpochDay()));
+
+        List<Item> view = store.asList();
+        assertEquals(1000, view.size());
+        assertEquals("Item 500", view.get(500).getName());
+    }
+}
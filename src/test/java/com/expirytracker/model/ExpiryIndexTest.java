@@ -0,0 +1,78 @@
+package com.expirytracker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ExpiryIndex range counts against a brute-force count.
+ */
+public class ExpiryIndexTest {
+
+    private static Item item(int id, long epochDay) {
+        Item item = new Item("Item " + id, "Pantry", null, LocalDate.ofEpochDay(epochDay), 1, "", null);
+        item.setId(id);
+        return item;
+    }
+
+    private static int bruteCount(List<Item> items, long from, long to) {
+        int count = 0;
+        for (Item item : items) {
+            long day = item.getExpiryDate().toEpochDay();
+            if (day >= from && day <= to) count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testCountsOverWideDateRange() {
+        Random random = new Random(42);
+        long today = LocalDate.of(2025, 6, 15).toEpochDay();
+        ExpiryIndex index = new ExpiryIndex();
+        List<Item> items = new ArrayList<>();
+        for (int id = 1; id <= 3000; id++) {
+            long day;
+            switch (id % 10) {
+                case 0:
+                    day = LocalDate.of(1900 + random.nextInt(50), 1, 1).toEpochDay(); // beyond the count window
+                    break;
+                case 1:
+                    day = LocalDate.of(2200 + random.nextInt(300), 1, 1).toEpochDay() + random.nextInt(365);
+                    break;
+                default:
+                    day = today + random.nextInt(20 * 365) - 5 * 365;
+            }
+            Item item = item(id, day);
+            items.add(item);
+            index.add(item);
+        }
+        // Remove some and move some, as repository edits do
+        for (int i = 0; i < 300; i++) {
+            Item removed = items.remove(random.nextInt(items.size()));
+            index.remove(removed.getId());
+            Item moved = items.get(random.nextInt(items.size()));
+            moved.setExpiryDate(LocalDate.ofEpochDay(today + random.nextInt(4000) - 2000));
+            index.update(moved);
+        }
+
+        assertEquals(items.size(), index.size());
+        assertEquals(items.size(), index.countExpiringBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        for (int i = 0; i < 500; i++) {
+            long from = LocalDate.of(1880, 1, 1).toEpochDay() + random.nextInt(230_000);
+            long to = from + random.nextInt(i % 2 == 0 ? 100 : 200_000);
+            assertEquals(bruteCount(items, from, to), index.countExpiringBetween(from, to), from + ".." + to);
+            assertEquals(bruteCount(items, Long.MIN_VALUE, from - 1), index.countExpiredBefore(from));
+        }
+        assertEquals(0, index.countExpiringBetween(today, today - 1));
+
+        index.clear();
+        assertEquals(0, index.countExpiringBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        index.add(item(1, today));
+        assertEquals(1, index.countExpiredBefore(today + 1));
+    }
+}
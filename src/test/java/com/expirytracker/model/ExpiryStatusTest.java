@@ -0,0 +1,72 @@
+package com.expirytracker.model;
+
+import com.expirytracker.util.DayClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ExpiryStatus and the status cached on Item.
+ */
+public class ExpiryStatusTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    private DayClock previous;
+
+    @BeforeEach
+    public void fixClock() {
+        previous = DayClock.set(DayClock.fixed(TODAY));
+    }
+
+    @AfterEach
+    public void restoreClock() {
+        DayClock.set(previous);
+    }
+
+    private static Item expiringOn(LocalDate date) {
+        return new Item("Item", "Dairy & Eggs", null, date, 1, "", null);
+    }
+
+    @Test
+    public void testBucketsAreCachedAndFollowEdits() {
+        assertEquals(ExpiryStatus.EXPIRED, expiringOn(TODAY.minusDays(1)).getExpiryStatus());
+        assertEquals(ExpiryStatus.EXPIRING_SOON, expiringOn(TODAY).getExpiryStatus());
+        assertEquals(ExpiryStatus.EXPIRING_SOON, expiringOn(TODAY.plusDays(14)).getExpiryStatus());
+        assertEquals(ExpiryStatus.FRESH, expiringOn(TODAY.plusDays(15)).getExpiryStatus());
+        assertEquals(ExpiryStatus.NO_EXPIRY, new Item().getExpiryStatus());
+
+        Item item = expiringOn(TODAY.plusDays(30));
+        item.setExpiryDate(TODAY.minusDays(2));
+        assertEquals(ExpiryStatus.EXPIRED, item.getExpiryStatus());
+        assertEquals("red", item.getStatusColor());
+    }
+
+    @Test
+    public void testRebucketMovesOnlyItemsCrossingAThreshold() {
+        Item yoghurt = expiringOn(TODAY);
+        Item cheese = expiringOn(TODAY.plusDays(15));
+        Item rice = expiringOn(TODAY.plusDays(40));
+        Item salt = new Item();
+        List<Item> items = List.of(yoghurt, cheese, rice, salt);
+
+        long today = TODAY.toEpochDay();
+        assertEquals(2, ExpiryStatus.rebucket(items, today, today + 1));
+        assertEquals(ExpiryStatus.EXPIRED, yoghurt.getExpiryStatus());
+        assertEquals(ExpiryStatus.EXPIRING_SOON, cheese.getExpiryStatus());
+        assertEquals(ExpiryStatus.FRESH, rice.getExpiryStatus());
+        assertEquals(ExpiryStatus.NO_EXPIRY, salt.getExpiryStatus());
+
+        // Several days at once (e.g. after the machine slept), then the clock set back
+        assertEquals(2, ExpiryStatus.rebucket(items, today + 1, today + 30));
+        assertEquals(ExpiryStatus.EXPIRED, cheese.getExpiryStatus());
+        assertEquals(ExpiryStatus.EXPIRING_SOON, rice.getExpiryStatus());
+        assertEquals(3, ExpiryStatus.rebucket(items, today + 30, today));
+        assertEquals(ExpiryStatus.FRESH, rice.getExpiryStatus());
+    }
+}
@@ -0,0 +1,62 @@
+package com.expirytracker.service;
+
+import com.expirytracker.database.DatabaseConfig;
+import com.expirytracker.database.DatabaseManager;
+import com.expirytracker.database.ItemDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CsvImportService failure handling.
+ */
+public class CsvImportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseManager dbManager;
+    private CsvImportService importService;
+
+    @BeforeEach
+    public void setUp() {
+        DatabaseConfig config = new DatabaseConfig(tempDir.resolve("test.db").toString(),
+                2, 2000, SQLiteConfig.SynchronousMode.NORMAL, -2000, 0, 16);
+        dbManager = new DatabaseManager(config);
+        importService = new CsvImportService(new ItemDAO(dbManager));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dbManager.close();
+    }
+
+    private static long writerThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().equals("CsvImportWriter") && t.isAlive())
+                .count();
+    }
+
+    @Test
+    public void testUnreadableFilesLeaveNoWriterThread() throws Exception {
+        long before = writerThreads();
+        Path badGzip = tempDir.resolve("items.csv.gz");
+        Files.writeString(badGzip, "Name,Category\nnot gzip at all", StandardCharsets.UTF_8);
+
+        assertThrows(IOException.class, () -> importService.importCsvStreaming(badGzip.toFile(), null));
+        assertThrows(IOException.class,
+                () -> importService.importCsvStreaming(new File(tempDir.toFile(), "missing.csv"), null));
+
+        assertEquals(before, writerThreads());
+    }
+}
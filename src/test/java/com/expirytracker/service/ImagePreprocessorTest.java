@@ -0,0 +1,87 @@
+package com.expirytracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ImagePreprocessor on a synthetic, unevenly lit and rotated "label".
+ */
+public class ImagePreprocessorTest {
+
+    /**
+     * Rows of dark blocks ("words") on a background fading from white to grey,
+     * rotated so the lines rise to the right by the given angle.
+     */
+    private static BufferedImage label(int width, int height, double skewDegrees) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.WHITE, width, height, new Color(150, 150, 150)));
+        g.fillRect(0, 0, width, height);
+        g.rotate(Math.toRadians(-skewDegrees), width / 2.0, height / 2.0);
+        g.setColor(new Color(40, 40, 40));
+        for (int line = 0; line < 6; line++) {
+            int y = height / 3 + line * 80;
+            for (int word = 0; word < 8; word++) {
+                g.fillRect(width / 4 + word * 160, y, 120, 40);
+            }
+        }
+        g.dispose();
+        return image;
+    }
+
+    @Test
+    public void testDownscalesBinarizesDeskewsAndCrops() {
+        ImagePreprocessor preprocessor = new ImagePreprocessor(2000);
+        ImagePreprocessor.Result result = preprocessor.process(label(4000, 3000, 3.0));
+        BufferedImage image = result.getImage();
+
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+        assertTrue(image.getWidth() < 2000 && image.getHeight() < 1500, "Should be downscaled and cropped to the text");
+        assertEquals(3.0, result.getSkewDegrees(), 0.51);
+        for (byte pixel : ((DataBufferByte) image.getRaster().getDataBuffer()).getData()) {
+            assertTrue(pixel == 0 || pixel == (byte) 255, "Output must be binary");
+        }
+        assertEquals(5, result.getStageNanos().size());
+        assertTrue(result.toTimingText().contains("binarize"));
+
+        // Deskewed output should come back level, reusing the same buffers
+        ImagePreprocessor.Result again = preprocessor.process(image);
+        assertEquals(0.0, again.getSkewDegrees(), 0.51);
+    }
+
+    @Test
+    public void testBlankImageIsLeftWhole() {
+        BufferedImage blank = new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = blank.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, 300, 200);
+        g.dispose();
+
+        ImagePreprocessor.Result result = new ImagePreprocessor().process(blank);
+        assertEquals(300, result.getImage().getWidth());
+        assertEquals(0.0, result.getSkewDegrees());
+    }
+
+    @Test
+    public void testLongSideScalesToExactlyMaxDimension() {
+        BufferedImage blank = new BufferedImage(2001, 1001, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = blank.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, 2001, 1001);
+        g.dispose();
+
+        BufferedImage image = new ImagePreprocessor(2000).process(blank).getImage();
+        assertEquals(2000, image.getWidth());
+        assertEquals(1000, image.getHeight());
+        for (byte pixel : ((DataBufferByte) image.getRaster().getDataBuffer()).getData()) {
+            assertEquals((byte) 255, pixel, "Averaging white must stay white");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.expirytracker.service;
+
+import com.expirytracker.database.DatabaseConfig;
+import com.expirytracker.database.DatabaseManager;
+import com.expirytracker.database.ItemDAO;
+import com.expirytracker.database.ItemRepository;
+import com.expirytracker.model.Item;
+import com.expirytracker.util.DayClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteConfig;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the deadline-driven NotificationService.
+ */
+public class NotificationServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @TempDir
+    Path tempDir;
+
+    private DayClock previousClock;
+    private DatabaseManager dbManager;
+    private ItemRepository repository;
+    private NotificationService service;
+    private final BlockingQueue<List<Item>> alerts = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    public void setUp() {
+        previousClock = DayClock.set(DayClock.fixed(TODAY));
+        DatabaseConfig config = new DatabaseConfig(tempDir.resolve("test.db").toString(),
+                2, 2000, SQLiteConfig.SynchronousMode.NORMAL, -2000, 0, 16);
+        dbManager = new DatabaseManager(config);
+        repository = new ItemRepository(new ItemDAO(dbManager));
+        service = new NotificationService(repository, alerts::add);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.stop();
+        dbManager.close();
+        DayClock.set(previousClock);
+    }
+
+    private static Item item(String name, LocalDate expiry) {
+        return new Item(name, "Pantry", TODAY, expiry, 1, "", null);
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream().map(Item::getName).toList();
+    }
+
+    @Test
+    public void testAlertsOnceAndReactsToWrites() throws InterruptedException {
+        repository.insert(item("Milk", TODAY.plusDays(3)));
+        repository.insert(item("Rice", TODAY.plusDays(100)));
+
+        service.start(0, TimeUnit.MILLISECONDS);
+        assertEquals(List.of("Milk"), names(alerts.poll(5, TimeUnit.SECONDS)));
+
+        // A new item inside the window is reported on its own, without waiting for a timer
+        repository.insert(item("Cream", TODAY.plusDays(1)));
+        assertEquals(List.of("Cream"), names(alerts.poll(5, TimeUnit.SECONDS)));
+
+        // Items outside the window only move the next deadline
+        repository.insert(item("Cheese", TODAY.plusDays(20)));
+        long expected = TODAY.plusDays(20 - 7).toEpochDay();
+        for (int i = 0; i < 100 && service.getNextDeadlineEpochDay() != expected; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, service.getNextDeadlineEpochDay());
+        assertNull(alerts.poll(200, TimeUnit.MILLISECONDS), "Already reported items must not alert again");
+    }
+}
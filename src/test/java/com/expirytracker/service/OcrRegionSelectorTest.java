@@ -0,0 +1,76 @@
+package com.expirytracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OcrRegionSelector on hand-built layouts.
+ */
+public class OcrRegionSelectorTest {
+
+    private static OcrRegionSelector.TextLine line(int block, int x, int y, int width, int height) {
+        return new OcrRegionSelector.TextLine(block, new Rectangle(x, y, width, height));
+    }
+
+    /** A dense block of ten lines, like an ingredients panel. */
+    private static List<OcrRegionSelector.TextLine> panel(int block, int top) {
+        List<OcrRegionSelector.TextLine> lines = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lines.add(line(block, 50, top + i * 25, 700, 20));
+        }
+        return lines;
+    }
+
+    @Test
+    public void testKeepsShortBlocksAndSkipsPanels() {
+        List<OcrRegionSelector.TextLine> lines = new ArrayList<>();
+        lines.add(line(1, 400, 900, 300, 30));         // "BEST BEFORE 12/03/26", listed first
+        lines.addAll(panel(2, 200));
+        lines.add(line(0, 100, 40, 500, 60));          // product name
+
+        List<Rectangle> regions = OcrRegionSelector.select(lines, 800, 1000);
+
+        assertEquals(2, regions.size());
+        // Top to bottom, padded
+        assertEquals(new Rectangle(94, 34, 512, 72), regions.get(0));
+        assertEquals(new Rectangle(394, 894, 312, 42), regions.get(1));
+    }
+
+    @Test
+    public void testTallestLineIsKeptEvenInsidePanel() {
+        List<OcrRegionSelector.TextLine> lines = panel(0, 100);
+        lines.addAll(panel(1, 400));
+        lines.set(0, line(0, 50, 100, 700, 40));
+
+        List<Rectangle> regions = OcrRegionSelector.select(lines, 800, 1000);
+
+        assertEquals(1, regions.size());
+        assertEquals(new Rectangle(44, 94, 712, 52), regions.get(0));
+    }
+
+    @Test
+    public void testRegionsAreClippedToImage() {
+        List<OcrRegionSelector.TextLine> lines = panel(1, 200);
+        lines.add(line(0, 0, 0, 300, 40));
+
+        List<Rectangle> regions = OcrRegionSelector.select(lines, 800, 1000);
+
+        assertEquals(new Rectangle(0, 0, 306, 46), regions.get(0));
+    }
+
+    @Test
+    public void testMostlyShortTextUsesFullPage() {
+        List<OcrRegionSelector.TextLine> lines = new ArrayList<>();
+        for (int block = 0; block < 5; block++) {
+            lines.add(line(block, 50, block * 100, 400, 30));
+        }
+        assertTrue(OcrRegionSelector.select(lines, 800, 1000).isEmpty());
+        assertTrue(OcrRegionSelector.select(List.of(line(0, 0, 0, 50, 3)), 800, 1000).isEmpty());
+        assertTrue(OcrRegionSelector.select(List.of(), 800, 1000).isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package com.expirytracker.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OcrResultCache in a temporary directory.
+ */
+public class OcrResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String text(char c) {
+        return String.valueOf(c).repeat(100);
+    }
+
+    @Test
+    public void testKeyDependsOnBytesAndConfig() {
+        byte[] image = "image".getBytes(StandardCharsets.UTF_8);
+        String key = OcrResultCache.key(image, "mode=full");
+
+        assertEquals(64, key.length());
+        assertEquals(key, OcrResultCache.key(image.clone(), "mode=full"));
+        assertNotEquals(key, OcrResultCache.key(image, "mode=regions"));
+        assertNotEquals(key, OcrResultCache.key("imagf".getBytes(StandardCharsets.UTF_8), "mode=full"));
+    }
+
+    @Test
+    public void testEntriesSurviveRestart() {
+        OcrResultCache cache = new OcrResultCache(tempDir, 1000);
+        assertNull(cache.get("a"));
+        cache.put("a", "BEST BEFORE 12/03/26\nMilk ü");
+
+        OcrResultCache reopened = new OcrResultCache(tempDir, 1000);
+        assertEquals("BEST BEFORE 12/03/26\nMilk ü", reopened.get("a"));
+        assertEquals(1, reopened.size());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        OcrResultCache cache = new OcrResultCache(tempDir, 300);
+        cache.put("a", text('a'));
+        cache.put("b", text('b'));
+        cache.put("c", text('c'));
+        assertNotNull(cache.get("a")); // b is now the oldest
+
+        cache.put("d", text('d'));
+
+        assertEquals(3, cache.size());
+        assertEquals(300, cache.getTotalBytes());
+        assertNull(cache.get("b"));
+        assertFalse(Files.exists(tempDir.resolve("b.txt")));
+        assertEquals(text('a'), cache.get("a"));
+    }
+
+    @Test
+    public void testReloadUsesFileTimesAndLimit() throws Exception {
+        OcrResultCache cache = new OcrResultCache(tempDir, 1000);
+        cache.put("a", text('a'));
+        cache.put("b", text('b'));
+        cache.put("c", text('c'));
+        Files.setLastModifiedTime(tempDir.resolve("a.txt"), FileTime.fromMillis(3000));
+        Files.setLastModifiedTime(tempDir.resolve("b.txt"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(tempDir.resolve("c.txt"), FileTime.fromMillis(2000));
+        Files.writeString(tempDir.resolve("x.tmp"), "partial");
+
+        // A smaller limit evicts the oldest on load
+        OcrResultCache reopened = new OcrResultCache(tempDir, 200);
+
+        assertEquals(2, reopened.size());
+        assertNull(reopened.get("b"));
+        assertNotNull(reopened.get("c"));
+        assertFalse(Files.exists(tempDir.resolve("x.tmp")));
+
+        reopened.clear();
+        assertEquals(0, reopened.size());
+        assertNull(new OcrResultCache(tempDir, 1000).get("a"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.expirytracker.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OcrService with a stand-in recognizer, since Tesseract may not be installed.
+ */
+public class OcrServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private OcrService service;
+
+    @AfterEach
+    public void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private static void writeImage(File file, int width) throws Exception {
+        ImageIO.write(new BufferedImage(width, 10, BufferedImage.TYPE_INT_RGB), "png", file);
+    }
+
+    @Test
+    public void testFileChangedAfterSubmitIsNotCachedUnderOldKey() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OcrResultCache cache = new OcrResultCache(tempDir.resolve("cache"), 1000);
+        // "Recognizes" the image width, after waiting for the test to change the file
+        service = new OcrService(1, cache, image -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "width " + image.getWidth();
+        });
+
+        File photo = tempDir.resolve("photo.png").toFile();
+        writeImage(photo, 20);
+        Future<String> pending = service.submit(photo);
+        writeImage(photo, 30);
+        release.countDown();
+
+        assertEquals("width 20", pending.get(10, TimeUnit.SECONDS));
+        assertEquals(1, cache.size());
+        assertEquals("width 30", service.doOcr(photo));
+        writeImage(photo, 20);
+        assertEquals("width 20", service.doOcr(photo));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testCacheHitSkipsRecognition() throws Exception {
+        int[] calls = new int[1];
+        OcrResultCache cache = new OcrResultCache(tempDir.resolve("cache"), 1000);
+        service = new OcrService(1, cache, image -> {
+            calls[0]++;
+            return "width " + image.getWidth();
+        });
+
+        File photo = tempDir.resolve("photo.png").toFile();
+        writeImage(photo, 20);
+
+        assertEquals("width 20", service.doOcr(photo));
+        assertEquals("width 20", service.doOcr(photo));
+        assertEquals(1, calls[0]);
+    }
+}
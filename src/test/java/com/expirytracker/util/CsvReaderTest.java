@@ -0,0 +1,99 @@
+package com.expirytracker.util;
+
+import com.expirytracker.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CsvReader / CsvWriter.
+ */
+public class CsvReaderTest {
+
+    private static List<List<String>> readAll(String csv, int bufferSize) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        CsvReader reader = new CsvReader(new StringReader(csv), bufferSize);
+        while (reader.next()) {
+            List<String> fields = new ArrayList<>();
+            for (int i = 0; i < reader.getFieldCount(); i++) {
+                fields.add(reader.get(i));
+            }
+            records.add(fields);
+        }
+        return records;
+    }
+
+    @Test
+    public void testEscapedQuotesAndEmbeddedNewlines() throws IOException {
+        String csv = "a,\"say \"\"hi\"\"\",\"line1\r\nline2\"\r\n\"x,y\",,z\n";
+
+        // A tiny buffer forces refills in the middle of quotes and CRLF pairs
+        for (int bufferSize : new int[] {16, 1024}) {
+            List<List<String>> records = readAll(csv, bufferSize);
+            assertEquals(2, records.size());
+            assertEquals(List.of("a", "say \"hi\"", "line1\r\nline2"), records.get(0));
+            assertEquals(List.of("x,y", "", "z"), records.get(1));
+        }
+    }
+
+    @Test
+    public void testLastRecordWithoutNewline() throws IOException {
+        List<List<String>> records = readAll("h1,h2\rv1,v2", 1024);
+        assertEquals(List.of(List.of("h1", "h2"), List.of("v1", "v2")), records);
+    }
+
+    @Test
+    public void testTypedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("2025-11-12, 42 ,abc,\n"));
+        assertTrue(reader.next());
+        assertEquals(LocalDate.of(2025, 11, 12), reader.getIsoDate(0));
+        assertEquals(42, reader.getInt(1, -1));
+        assertEquals(-1, reader.getInt(2, -1));
+        assertNull(reader.getIsoDate(3));
+    }
+
+    @Test
+    public void testItemsRoundTrip() throws IOException {
+        Item item = new Item("Milk, \"Organic\"", "Dairy & Eggs", LocalDate.of(2025, 1, 2),
+                LocalDate.of(2025, 1, 9), 3, "Opened\nkeep cold", null);
+
+        StringWriter out = new StringWriter();
+        try (CsvWriter writer = new CsvWriter(out)) {
+            CsvUtil.writeHeader(writer);
+            CsvUtil.writeItem(writer, item);
+        }
+
+        List<Item> items = new ArrayList<>();
+        assertEquals(0, CsvUtil.readItems(new StringReader(out.toString()), items::add));
+        assertEquals(1, items.size());
+        Item copy = items.get(0);
+        assertEquals(item.getName(), copy.getName());
+        assertEquals(item.getPurchaseDate(), copy.getPurchaseDate());
+        assertEquals(item.getExpiryDate(), copy.getExpiryDate());
+        assertEquals(3, copy.getQuantity());
+        assertEquals(item.getNotes(), copy.getNotes());
+    }
+
+    @Test
+    public void testEpochDayMatchesLocalDate() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        long[] days = {0, -1, 59, 60, 10957, 11016, 20000, 2932896};
+        for (long day : days) {
+            writer.epochDayField(day);
+        }
+        writer.flush();
+
+        String[] written = out.toString().split(",");
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(LocalDate.ofEpochDay(days[i]).toString(), written[i]);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.expirytracker.util;
+
+import com.expirytracker.model.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DayClock.
+ */
+public class DayClockTest {
+
+    private DayClock previous;
+
+    @AfterEach
+    public void restoreClock() {
+        if (previous != null) {
+            DayClock.set(previous);
+        }
+    }
+
+    /** Clock whose time the test moves by hand. */
+    private static class SettableClock extends Clock {
+        private Instant instant;
+
+        SettableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @Test
+    public void testRollsOverAtMidnight() {
+        SettableClock time = new SettableClock(Instant.parse("2025-03-09T23:59:59Z"));
+        DayClock clock = new DayClock(time);
+
+        assertEquals(LocalDate.of(2025, 3, 9), clock.today());
+        assertEquals(1000, clock.millisUntilTomorrow());
+
+        time.instant = Instant.parse("2025-03-10T00:00:00Z");
+        assertEquals(LocalDate.of(2025, 3, 10), clock.today());
+        assertEquals(LocalDate.of(2025, 3, 10).toEpochDay(), clock.todayEpochDay());
+
+        // Clock set back by the user
+        time.instant = Instant.parse("2025-03-01T12:00:00Z");
+        assertEquals(LocalDate.of(2025, 3, 1), clock.today());
+    }
+
+    @Test
+    public void testItemStatusUsesSharedClock() {
+        previous = DayClock.set(DayClock.fixed(LocalDate.of(2025, 6, 15)));
+
+        Item yoghurt = new Item("Yoghurt", "Dairy & Eggs", null, LocalDate.of(2025, 6, 14), 1, "", null);
+        Item bread = new Item("Bread", "Bread & Bakery", null, LocalDate.of(2025, 6, 15), 1, "", null);
+        Item rice = new Item("Rice", "Grains & Cereals", null, LocalDate.of(2025, 7, 15), 1, "", null);
+        Item salt = new Item("Salt", null, null, null, 1, "", null);
+
+        assertTrue(yoghurt.isExpired());
+        assertEquals(-1, yoghurt.daysToExpiry());
+        assertFalse(bread.isExpired());
+        assertEquals(0, bread.daysToExpiry());
+        assertEquals(30, rice.daysToExpiry());
+        assertEquals(Long.MAX_VALUE, salt.daysToExpiry());
+        assertFalse(salt.isExpired());
+    }
+}
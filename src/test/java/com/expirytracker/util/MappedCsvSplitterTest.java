@@ -0,0 +1,97 @@
+package com.expirytracker.util;
+
+import com.expirytracker.model.Item;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedCsvSplitter.
+ */
+public class MappedCsvSplitterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testChunksNeverSplitQuotedFields() throws Exception {
+        StringBuilder csv = new StringBuilder("Name,Category,Purchase Date,Expiry Date,Quantity,Notes,Image Path\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("\"Item ").append(i).append("\",Fruits,2025-01-01,2025-02-01,1,")
+               .append(i % 3 == 0 ? "\"multi\nline, \"\"quoted\"\"\nnote\"" : "plain").append(",\n");
+        }
+        Path file = tempDir.resolve("items.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+        List<Item> items = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Tiny chunks put raw boundaries inside quoted fields over and over
+            long[] offsets = MappedCsvSplitter.split(channel, 37, ForkJoinPool.commonPool());
+            assertEquals(0, offsets[0]);
+            assertEquals(channel.size(), offsets[offsets.length - 1]);
+
+            for (int i = 0; i < offsets.length - 1; i++) {
+                assertTrue(offsets[i + 1] > offsets[i]);
+                try (Reader reader = new InputStreamReader(MappedCsvSplitter.asInputStream(
+                        MappedCsvSplitter.map(channel, offsets[i], offsets[i + 1] - offsets[i])), StandardCharsets.UTF_8)) {
+                    assertEquals(0, CsvUtil.readItems(reader, items::add, i == 0));
+                }
+            }
+        }
+
+        assertEquals(200, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals("Item " + i, items.get(i).getName());
+            assertEquals(i % 3 == 0 ? "multi\nline, \"quoted\"\nnote" : "plain", items.get(i).getNotes());
+        }
+    }
+
+    @Test
+    public void testStrayQuotesMatchStreamingRead() throws Exception {
+        StringBuilder csv = new StringBuilder("Name,Category,Purchase Date,Expiry Date,Quantity,Notes,Image Path\n");
+        for (int i = 0; i < 150; i++) {
+            // A literal quote in an unquoted field must not flip the quoted state for later rows
+            String name = i % 7 == 0 ? "12\" pizza " + i : "Item " + i;
+            String notes = i % 4 == 0 ? "\"line one\nline \"\"two\"\", end\"" : i % 5 == 0 ? "\"quoted\"trailing\"" : "plain";
+            csv.append(name).append(",Frozen,2025-01-01,2025-02-01,1,").append(notes).append(",\n");
+        }
+        Path file = tempDir.resolve("stray.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+        List<Item> streamed = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvUtil.readItems(reader, streamed::add);
+        }
+        assertEquals(150, streamed.size());
+
+        for (long chunkSize : new long[] {13, 41, 97, 1000}) {
+            List<Item> parallel = new ArrayList<>();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long[] offsets = MappedCsvSplitter.split(channel, chunkSize, ForkJoinPool.commonPool());
+                for (int i = 0; i < offsets.length - 1; i++) {
+                    try (Reader reader = new InputStreamReader(MappedCsvSplitter.asInputStream(
+                            MappedCsvSplitter.map(channel, offsets[i], offsets[i + 1] - offsets[i])), StandardCharsets.UTF_8)) {
+                        CsvUtil.readItems(reader, parallel::add, i == 0);
+                    }
+                }
+            }
+            assertEquals(streamed.size(), parallel.size(), "chunk size " + chunkSize);
+            for (int i = 0; i < streamed.size(); i++) {
+                assertEquals(streamed.get(i).getName(), parallel.get(i).getName(), "chunk size " + chunkSize);
+                assertEquals(streamed.get(i).getNotes(), parallel.get(i).getNotes(), "chunk size " + chunkSize);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.expirytracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ScanTextParser.
+ */
+public class ScanTextParserTest {
+
+    @Test
+    public void testExpiryLabel() {
+        ScanTextParser.Result result = ScanTextParser.parse("Organic Whole Milk\n1L\nBEST BEFORE 2026-03-12");
+
+        assertEquals(LocalDate.of(2026, 3, 12), result.getExpiryDate());
+        assertNull(result.getManufactureDate());
+        assertNull(result.getNotes());
+        assertEquals("Dairy & Eggs", result.getCategory());
+        assertNotNull(result.getProductName());
+    }
+
+    @Test
+    public void testManufactureDateAddsShelfLife() {
+        ScanTextParser.Result result = ScanTextParser.parse("Vitamin C Tablets\nMFG 2025-01-15");
+
+        assertEquals(LocalDate.of(2025, 1, 15), result.getManufactureDate());
+        assertEquals(LocalDate.of(2025, 7, 15), result.getExpiryDate());
+        assertTrue(result.getNotes().contains("2025-01-15"));
+        assertEquals("Supplements & Vitamins", result.getCategory());
+    }
+
+    @Test
+    public void testCategoriesAreCheckedInOrder() {
+        // "Chocolate milk" matches dairy before snacks
+        assertEquals("Dairy & Eggs", ScanTextParser.suggestCategory("Chocolate milk"));
+        assertEquals("Snacks & Sweets", ScanTextParser.suggestCategory("dark chocolate"));
+        assertNull(ScanTextParser.suggestCategory("XYZ 123"));
+    }
+
+    @Test
+    public void testEmptyText() {
+        ScanTextParser.Result result = ScanTextParser.parse("  ");
+        assertNull(result.getProductName());
+        assertNull(result.getExpiryDate());
+        assertNull(result.getCategory());
+    }
+}